@@ -0,0 +1,14 @@
+package co.com.bancolombia.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "franchise.cache")
+public record FranchiseCacheProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("5m") Duration ttl,
+        @DefaultValue("100000") long negativeMaximumSize,
+        @DefaultValue("30s") Duration negativeTtl) {
+}
@@ -0,0 +1,91 @@
+package co.com.bancolombia.config;
+
+import co.com.bancolombia.model.gateway.FranchiseChangeFeed;
+import co.com.bancolombia.mongo.repository.FranchiseRepositoryAdapter;
+import co.com.bancolombia.repository.CachingFranchiseRepository;
+import co.com.bancolombia.repository.ChangeFeedCacheInvalidator;
+import co.com.bancolombia.repository.CoalescingFranchiseRepository;
+import co.com.bancolombia.repository.NegativeCachingFranchiseRepository;
+import co.com.bancolombia.repository.ResilientFranchiseRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+public class FranchiseRepositoryConfig {
+
+    static final String CIRCUIT_BREAKER_NAME = "franchise-repository";
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(FranchiseResilienceProperties resilienceProperties,
+                                                         MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(resilienceProperties.failureRateThreshold())
+                .slidingWindowSize(resilienceProperties.slidingWindowSize())
+                .waitDurationInOpenState(resilienceProperties.waitInOpenState())
+                .recordException(ResilientFranchiseRepository::isInfrastructureFailure)
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public CoalescingFranchiseRepository franchiseLoads(
+            FranchiseRepositoryAdapter franchiseRepositoryAdapter,
+            MeterRegistry meterRegistry) {
+        return new CoalescingFranchiseRepository(franchiseRepositoryAdapter, meterRegistry);
+    }
+
+    /**
+     * Below the caches, so reads they answer never reach the breaker, and above the coalescer, so the stale fallback
+     * still sees the context of each caller.
+     */
+    @Bean
+    public ResilientFranchiseRepository guardedFranchiseLoads(
+            CoalescingFranchiseRepository franchiseLoads,
+            FranchiseResilienceProperties resilienceProperties,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER_NAME);
+        return new ResilientFranchiseRepository(franchiseLoads, circuitBreaker, resilienceProperties.readTimeout(),
+                resilienceProperties.staleMaximumSize(), resilienceProperties.staleTtl(), meterRegistry);
+    }
+
+    @Bean
+    public NegativeCachingFranchiseRepository unknownFranchiseIds(
+            ResilientFranchiseRepository guardedFranchiseLoads,
+            FranchiseCacheProperties cacheProperties,
+            MeterRegistry meterRegistry) {
+        return new NegativeCachingFranchiseRepository(guardedFranchiseLoads,
+                cacheProperties.negativeMaximumSize(), cacheProperties.negativeTtl(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public CachingFranchiseRepository franchiseCache(
+            NegativeCachingFranchiseRepository unknownFranchiseIds,
+            CoalescingFranchiseRepository franchiseLoads,
+            FranchiseCacheProperties cacheProperties,
+            MeterRegistry meterRegistry) {
+        return new CachingFranchiseRepository(unknownFranchiseIds, franchiseLoads,
+                cacheProperties.maximumSize(), cacheProperties.ttl(), meterRegistry);
+    }
+
+    /**
+     * Only needed when several instances share the database. Change streams require MongoDB to run as a replica set.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "franchise.change-stream", name = "enabled", havingValue = "true")
+    public ChangeFeedCacheInvalidator changeFeedCacheInvalidator(
+            FranchiseChangeFeed franchiseChangeFeed,
+            CachingFranchiseRepository franchiseCache,
+            NegativeCachingFranchiseRepository unknownFranchiseIds) {
+        return new ChangeFeedCacheInvalidator(franchiseChangeFeed, franchiseCache, unknownFranchiseIds);
+    }
+}
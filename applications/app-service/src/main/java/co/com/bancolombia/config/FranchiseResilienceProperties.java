@@ -0,0 +1,16 @@
+package co.com.bancolombia.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "franchise.resilience")
+public record FranchiseResilienceProperties(
+        @DefaultValue("500ms") Duration readTimeout,
+        @DefaultValue("50") float failureRateThreshold,
+        @DefaultValue("20") int slidingWindowSize,
+        @DefaultValue("10s") Duration waitInOpenState,
+        @DefaultValue("10000") long staleMaximumSize,
+        @DefaultValue("1h") Duration staleTtl) {
+}
@@ -0,0 +1,304 @@
+package co.com.bancolombia.repository;
+
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import co.com.bancolombia.model.gateway.StaleReads;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Read-through cache in front of the franchise repository. Full franchises read with {@link #findById(String)},
+ * single-branch views read with {@link #findByIdWithBranch(String, String)} and max stock views read with
+ * {@link #findWithMaxStockProductPerBranch(String)} are kept per franchise in a size and TTL bounded Caffeine cache
+ * (W-TinyLFU eviction). Partial views are derived from the full franchise whenever it is cached.
+ * <p>
+ * Entries hold the franchises as loaded, and every reader of an entry gets the same instance; derived views share their
+ * branches and products with the full franchise. Loaded franchises are read-only: writes go through the targeted
+ * repository operations, never through changes to a loaded aggregate. {@link #save(Franchise)} writes through; every targeted write, including the product add, update and delete paths,
+ * drops the franchise.
+ * <p>
+ * A load only stores its result in the entry that was cached when it started. Invalidating a franchise discards that
+ * entry and first makes {@link CoalescingFranchiseRepository} forget the franchise's in-flight loads, so a read that
+ * misses the new entry starts its own query instead of joining one that began before the write. A load racing with a
+ * write can therefore never bring back what the write replaced. The empty entry a load starts from is discarded when
+ * the load ends without storing anything, whether it failed, found nothing or was cancelled. A last-known-good copy
+ * served by {@link ResilientFranchiseRepository} below is passed on flagged as stale but never stored.
+ * <p>
+ * Lookups are counted per view by {@code franchise.cache.lookups}; Caffeine's own statistics are not recorded, since
+ * they would also count the lookups that only create an empty entry.
+ */
+@Slf4j
+public class CachingFranchiseRepository extends DelegatingFranchiseRepository {
+
+    private final CoalescingFranchiseRepository loads;
+    private final Cache<String, CachedFranchise> cache;
+    private final Counter fullHits;
+    private final Counter fullMisses;
+    private final Counter branchHits;
+    private final Counter branchMisses;
+    private final Counter maxStockHits;
+    private final Counter maxStockMisses;
+    private final Counter evictions;
+
+    /**
+     * @param loads the coalescer below this cache, whose in-flight loads are forgotten along with cached entries
+     */
+    public CachingFranchiseRepository(FranchiseRepositoryPort delegate, CoalescingFranchiseRepository loads,
+                                      long maximumSize, Duration ttl, MeterRegistry meterRegistry) {
+        this(delegate, loads, maximumSize, ttl, meterRegistry, Ticker.systemTicker());
+    }
+
+    CachingFranchiseRepository(FranchiseRepositoryPort delegate, CoalescingFranchiseRepository loads,
+                               long maximumSize, Duration ttl, MeterRegistry meterRegistry, Ticker ticker) {
+        super(delegate);
+        this.loads = loads;
+        this.evictions = Counter.builder("franchise.cache.evictions").register(meterRegistry);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .<String, CachedFranchise>evictionListener((id, entry, cause) -> evictions.increment())
+                .build();
+        Gauge.builder("franchise.cache.size", cache, Cache::estimatedSize).register(meterRegistry);
+        this.fullHits = lookupCounter(meterRegistry, "full", "hit");
+        this.fullMisses = lookupCounter(meterRegistry, "full", "miss");
+        this.branchHits = lookupCounter(meterRegistry, "branch", "hit");
+        this.branchMisses = lookupCounter(meterRegistry, "branch", "miss");
+        this.maxStockHits = lookupCounter(meterRegistry, "max-stock", "hit");
+        this.maxStockMisses = lookupCounter(meterRegistry, "max-stock", "miss");
+    }
+
+    @Override
+    public Mono<Franchise> findById(String id) {
+        return Mono.defer(() -> {
+            CachedFranchise entry = entryFor(id);
+            Franchise cached = entry.full;
+            if (cached != null) {
+                fullHits.increment();
+                return Mono.just(cached);
+            }
+            fullMisses.increment();
+            return delegate.findById(id)
+                    .doOnEach(storeFresh(franchise -> entry.full = franchise))
+                    .doFinally(signal -> discardIfEmpty(id, entry));
+        });
+    }
+
+    @Override
+    public Mono<Franchise> findByIdWithBranch(String franchiseId, String branchId) {
+        return Mono.defer(() -> {
+            CachedFranchise entry = entryFor(franchiseId);
+            Franchise full = entry.full;
+            if (full != null) {
+                branchHits.increment();
+                return Mono.just(FranchiseViews.withBranch(full, branchId));
+            }
+            Franchise view = entry.branchViews.get(branchId);
+            if (view != null) {
+                branchHits.increment();
+                return Mono.just(view);
+            }
+            branchMisses.increment();
+            return delegate.findByIdWithBranch(franchiseId, branchId)
+                    .doOnEach(storeFresh(franchise -> entry.branchViews.put(branchId, franchise)))
+                    .doFinally(signal -> discardIfEmpty(franchiseId, entry));
+        });
+    }
+
+    @Override
+    public Mono<Franchise> findWithMaxStockProductPerBranch(String franchiseId) {
+        return Mono.defer(() -> {
+            CachedFranchise entry = entryFor(franchiseId);
+            Franchise cached = cachedMaxStock(entry);
+            if (cached != null) {
+                maxStockHits.increment();
+                return Mono.just(cached);
+            }
+            maxStockMisses.increment();
+            return delegate.findWithMaxStockProductPerBranch(franchiseId)
+                    .doOnEach(storeFresh(franchise -> entry.maxStock = franchise))
+                    .doFinally(signal -> discardIfEmpty(franchiseId, entry));
+        });
+    }
+
+    /**
+     * Answers cached franchises right away and reads only the missing ones, with a single query.
+     */
+    @Override
+    public Flux<Franchise> findAllWithMaxStockProductPerBranch(List<String> franchiseIds) {
+        return Flux.defer(() -> {
+            List<Franchise> hits = new ArrayList<>();
+            Map<String, CachedFranchise> misses = new LinkedHashMap<>();
+            for (String franchiseId : franchiseIds) {
+                CachedFranchise entry = entryFor(franchiseId);
+                Franchise cached = cachedMaxStock(entry);
+                if (cached != null) {
+                    hits.add(cached);
+                } else {
+                    misses.put(franchiseId, entry);
+                }
+            }
+            maxStockHits.increment(hits.size());
+            maxStockMisses.increment(misses.size());
+
+            Flux<Franchise> loaded = misses.isEmpty()
+                    ? Flux.empty()
+                    : delegate.findAllWithMaxStockProductPerBranch(List.copyOf(misses.keySet()))
+                    .doOnNext(franchise -> Optional.ofNullable(misses.get(franchise.getId()))
+                            .ifPresent(entry -> entry.maxStock = franchise));
+            return Flux.fromIterable(hits).concatWith(loaded)
+                    .doFinally(signal -> misses.forEach(this::discardIfEmpty));
+        });
+    }
+
+    @Override
+    public Mono<Franchise> save(Franchise franchise) {
+        return delegate.save(franchise)
+                .doOnNext(saved -> cache.put(saved.getId(), new CachedFranchise(saved)))
+                .switchIfEmpty(Mono.fromRunnable(() -> invalidate(franchise.getId())))
+                .doOnError(error -> invalidate(franchise.getId()));
+    }
+
+    @Override
+    public Mono<Franchise> renameFranchise(String franchiseId, String name) {
+        return invalidating(franchiseId, delegate.renameFranchise(franchiseId, name));
+    }
+
+    @Override
+    public Mono<Branch> renameBranch(String franchiseId, String branchId, String name) {
+        return invalidating(franchiseId, delegate.renameBranch(franchiseId, branchId, name));
+    }
+
+    @Override
+    public Mono<Branch> addBranchToFranchise(String franchiseId, Branch branch) {
+        return invalidating(franchiseId, delegate.addBranchToFranchise(franchiseId, branch));
+    }
+
+    @Override
+    public Mono<Product> addProductToBranch(String franchiseId, String branchId, Product product) {
+        return invalidating(franchiseId, delegate.addProductToBranch(franchiseId, branchId, product));
+    }
+
+    @Override
+    public Mono<Product> updateProductInBranch(String franchiseId, String branchId, String productId, String name, int stockIncrement) {
+        return invalidating(franchiseId, delegate.updateProductInBranch(franchiseId, branchId, productId, name, stockIncrement));
+    }
+
+    @Override
+    public Mono<Product> incrementProductStock(String franchiseId, String branchId, String productId, int increment) {
+        return invalidating(franchiseId, delegate.incrementProductStock(franchiseId, branchId, productId, increment));
+    }
+
+    @Override
+    public Mono<Boolean> upsertBranchProducts(String franchiseId, String branchId, List<Product> updated, List<Product> created) {
+        return invalidating(franchiseId, delegate.upsertBranchProducts(franchiseId, branchId, updated, created));
+    }
+
+    @Override
+    public Mono<Boolean> removeProductFromBranch(String franchiseId, String branchId, String productId) {
+        return invalidating(franchiseId, delegate.removeProductFromBranch(franchiseId, branchId, productId));
+    }
+
+    /**
+     * Drops everything cached for the franchise.
+     */
+    public void invalidate(String franchiseId) {
+        log.debug("Invalidating cached Franchise {}", franchiseId);
+        loads.invalidate(franchiseId);
+        cache.invalidate(franchiseId);
+    }
+
+    /**
+     * Drops every cached franchise.
+     */
+    public void invalidateAll() {
+        log.debug("Invalidating all cached Franchises");
+        loads.invalidateAll();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Drops the franchise before the caller sees the outcome of the write, so a read chained on it misses, and also
+     * when the write is cancelled.
+     */
+    private <T> Mono<T> invalidating(String franchiseId, Mono<T> write) {
+        return write
+                .doOnTerminate(() -> invalidate(franchiseId))
+                .doOnCancel(() -> invalidate(franchiseId));
+    }
+
+    private CachedFranchise entryFor(String franchiseId) {
+        CachedFranchise entry = cache.getIfPresent(franchiseId);
+        return entry != null ? entry : cache.asMap().computeIfAbsent(franchiseId, id -> new CachedFranchise(null));
+    }
+
+    private static Franchise cachedMaxStock(CachedFranchise entry) {
+        Franchise maxStock = entry.maxStock;
+        if (maxStock != null) {
+            return maxStock;
+        }
+        Franchise full = entry.full;
+        if (full == null) {
+            return null;
+        }
+        Franchise derived = FranchiseViews.withMaxStockProducts(full);
+        entry.maxStock = derived;
+        return derived;
+    }
+
+    /**
+     * Stores a loaded franchise unless it is a stale copy served while the database is unavailable.
+     */
+    private static Consumer<Signal<Franchise>> storeFresh(Consumer<Franchise> store) {
+        return signal -> {
+            boolean stale = signal.getContextView().<StaleReads>getOrEmpty(StaleReads.class)
+                    .map(StaleReads::isStale)
+                    .orElse(false);
+            if (signal.isOnNext() && !stale) {
+                store.accept(signal.get());
+            }
+        };
+    }
+
+    private void discardIfEmpty(String franchiseId, CachedFranchise entry) {
+        if (entry.full == null && entry.maxStock == null && entry.branchViews.isEmpty()) {
+            cache.asMap().remove(franchiseId, entry);
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String view, String result) {
+        return Counter.builder("franchise.cache.lookups")
+                .tag("view", view)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class CachedFranchise {
+        private volatile Franchise full;
+        private volatile Franchise maxStock;
+        private final Map<String, Franchise> branchViews = new ConcurrentHashMap<>();
+
+        private CachedFranchise(Franchise full) {
+            this.full = full;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package co.com.bancolombia.repository;
+
+import co.com.bancolombia.model.gateway.FranchiseChange;
+import co.com.bancolombia.model.gateway.FranchiseChangeFeed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import reactor.core.Disposable;
+
+/**
+ * Keeps the in-process caches of this instance in line with writes made by any instance, by dropping every franchise
+ * reported by the change feed. Subscribes when the application starts and stops following the feed on shutdown.
+ */
+@Slf4j
+public class ChangeFeedCacheInvalidator implements SmartLifecycle {
+
+    private final FranchiseChangeFeed changeFeed;
+    private final CachingFranchiseRepository franchiseCache;
+    private final NegativeCachingFranchiseRepository unknownFranchiseIds;
+    private volatile Disposable subscription;
+
+    public ChangeFeedCacheInvalidator(FranchiseChangeFeed changeFeed, CachingFranchiseRepository franchiseCache,
+                                      NegativeCachingFranchiseRepository unknownFranchiseIds) {
+        this.changeFeed = changeFeed;
+        this.franchiseCache = franchiseCache;
+        this.unknownFranchiseIds = unknownFranchiseIds;
+    }
+
+    @Override
+    public void start() {
+        log.info("Following Franchise changes to invalidate cached Franchises");
+        subscription = changeFeed.franchiseChanges()
+                .subscribe(this::apply, error -> log.error("Franchise change feed stopped", error));
+    }
+
+    @Override
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        Disposable current = subscription;
+        return current != null && !current.isDisposed();
+    }
+
+    void apply(FranchiseChange change) {
+        if (change.isEverything()) {
+            franchiseCache.invalidateAll();
+            unknownFranchiseIds.forgetAll();
+            return;
+        }
+        franchiseCache.invalidate(change.getFranchiseId());
+        unknownFranchiseIds.forget(change.getFranchiseId());
+    }
+}
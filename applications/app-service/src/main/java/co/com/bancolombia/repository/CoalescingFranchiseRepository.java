@@ -0,0 +1,96 @@
+package co.com.bancolombia.repository;
+
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight loads: concurrent reads of the same franchise view share one in-flight database query instead of each
+ * issuing its own. The query is cancelled only when every caller waiting on it has cancelled, its error reaches all of
+ * them, and it is forgotten as soon as it terminates so later reads see fresh data. Every caller gets the same loaded
+ * franchise, which is read-only like everything the caches above hand out.
+ * <p>
+ * {@link CachingFranchiseRepository} calls {@link #invalidate(String)} whenever it drops a franchise, so a read that
+ * starts after a write never joins a load that started before it.
+ */
+@Slf4j
+public class CoalescingFranchiseRepository extends DelegatingFranchiseRepository {
+
+    private final Map<LoadKey, Mono<Franchise>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedLoads;
+
+    public CoalescingFranchiseRepository(FranchiseRepositoryPort delegate, MeterRegistry meterRegistry) {
+        super(delegate);
+        this.coalescedLoads = Counter.builder("franchise.loads.coalesced").register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Franchise> findById(String id) {
+        return coalesce(new LoadKey(LoadKey.FULL, id, null), () -> delegate.findById(id));
+    }
+
+    @Override
+    public Mono<Franchise> findByIdWithBranch(String franchiseId, String branchId) {
+        return coalesce(new LoadKey(LoadKey.BRANCH, franchiseId, branchId),
+                () -> delegate.findByIdWithBranch(franchiseId, branchId));
+    }
+
+    @Override
+    public Mono<Franchise> findWithMaxStockProductPerBranch(String franchiseId) {
+        return coalesce(new LoadKey(LoadKey.MAX_STOCK, franchiseId, null),
+                () -> delegate.findWithMaxStockProductPerBranch(franchiseId));
+    }
+
+    /**
+     * Forgets the in-flight loads of the franchise, so the next read starts a new query. Readers already waiting on
+     * those loads still get their result.
+     */
+    public void invalidate(String franchiseId) {
+        inFlight.keySet().removeIf(key -> franchiseId.equals(key.franchiseId()));
+    }
+
+    /**
+     * Forgets every in-flight load.
+     */
+    public void invalidateAll() {
+        inFlight.clear();
+    }
+
+    private Mono<Franchise> coalesce(LoadKey key, Supplier<Mono<Franchise>> load) {
+        return Mono.defer(() -> {
+            Mono<Franchise> running = inFlight.get(key);
+            if (running != null) {
+                coalescedLoads.increment();
+                log.debug("Joining in-flight load {}", key);
+                return running;
+            }
+            return inFlight.computeIfAbsent(key, k -> share(k, load.get()));
+        });
+    }
+
+    private Mono<Franchise> share(LoadKey key, Mono<Franchise> load) {
+        AtomicReference<Mono<Franchise>> self = new AtomicReference<>();
+        Mono<Franchise> shared = load
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .flux()
+                .publish()
+                .refCount(1)
+                .singleOrEmpty();
+        self.set(shared);
+        return shared;
+    }
+
+    private record LoadKey(String view, String franchiseId, String branchId) {
+        private static final String FULL = "full";
+        private static final String BRANCH = "branch";
+        private static final String MAX_STOCK = "max-stock";
+    }
+}
@@ -0,0 +1,120 @@
+package co.com.bancolombia.repository;
+
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.BulkItemResult;
+import co.com.bancolombia.model.FieldSelection;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.PageResult;
+import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Forwards every call to another {@link FranchiseRepositoryPort}, so decorators only override what they change.
+ */
+public abstract class DelegatingFranchiseRepository implements FranchiseRepositoryPort {
+
+    protected final FranchiseRepositoryPort delegate;
+
+    protected DelegatingFranchiseRepository(FranchiseRepositoryPort delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Mono<Franchise> save(Franchise franchise) {
+        return delegate.save(franchise);
+    }
+
+    @Override
+    public Mono<Franchise> findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Flux<Franchise> findAll(String namePrefix, int batchSize, FieldSelection fields) {
+        return delegate.findAll(namePrefix, batchSize, fields);
+    }
+
+    @Override
+    public Mono<PageResult<Franchise>> findPage(String afterId, int size, FieldSelection fields) {
+        return delegate.findPage(afterId, size, fields);
+    }
+
+    @Override
+    public Mono<PageResult<Branch>> findBranchPage(String franchiseId, int offset, int size) {
+        return delegate.findBranchPage(franchiseId, offset, size);
+    }
+
+    @Override
+    public Mono<PageResult<Product>> findProductPage(String franchiseId, String branchId, int offset, int size) {
+        return delegate.findProductPage(franchiseId, branchId, offset, size);
+    }
+
+    @Override
+    public Mono<List<Product>> findTopStockProducts(String franchiseId, String branchId, int k) {
+        return delegate.findTopStockProducts(franchiseId, branchId, k);
+    }
+
+    @Override
+    public Flux<BulkItemResult<Franchise>> insertAll(List<Franchise> franchises) {
+        return delegate.insertAll(franchises);
+    }
+
+    @Override
+    public Mono<Franchise> findWithMaxStockProductPerBranch(String franchiseId) {
+        return delegate.findWithMaxStockProductPerBranch(franchiseId);
+    }
+
+    @Override
+    public Flux<Franchise> findAllWithMaxStockProductPerBranch(List<String> franchiseIds) {
+        return delegate.findAllWithMaxStockProductPerBranch(franchiseIds);
+    }
+
+    @Override
+    public Mono<Franchise> findByIdWithBranch(String franchiseId, String branchId) {
+        return delegate.findByIdWithBranch(franchiseId, branchId);
+    }
+
+    @Override
+    public Mono<Franchise> renameFranchise(String franchiseId, String name) {
+        return delegate.renameFranchise(franchiseId, name);
+    }
+
+    @Override
+    public Mono<Branch> renameBranch(String franchiseId, String branchId, String name) {
+        return delegate.renameBranch(franchiseId, branchId, name);
+    }
+
+    @Override
+    public Mono<Branch> addBranchToFranchise(String franchiseId, Branch branch) {
+        return delegate.addBranchToFranchise(franchiseId, branch);
+    }
+
+    @Override
+    public Mono<Product> addProductToBranch(String franchiseId, String branchId, Product product) {
+        return delegate.addProductToBranch(franchiseId, branchId, product);
+    }
+
+    @Override
+    public Mono<Product> updateProductInBranch(String franchiseId, String branchId, String productId, String name, int stockIncrement) {
+        return delegate.updateProductInBranch(franchiseId, branchId, productId, name, stockIncrement);
+    }
+
+    @Override
+    public Mono<Product> incrementProductStock(String franchiseId, String branchId, String productId, int increment) {
+        return delegate.incrementProductStock(franchiseId, branchId, productId, increment);
+    }
+
+    @Override
+    public Mono<Boolean> upsertBranchProducts(String franchiseId, String branchId, List<Product> updated, List<Product> created) {
+        return delegate.upsertBranchProducts(franchiseId, branchId, updated, created);
+    }
+
+    @Override
+    public Mono<Boolean> removeProductFromBranch(String franchiseId, String branchId, String productId) {
+        return delegate.removeProductFromBranch(franchiseId, branchId, productId);
+    }
+}
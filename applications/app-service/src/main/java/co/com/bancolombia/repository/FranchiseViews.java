@@ -0,0 +1,53 @@
+package co.com.bancolombia.repository;
+
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.Product;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Partial views derived from a cached {@link Franchise}. They share the branches and products of the franchise they
+ * come from, so deriving a view copies no product.
+ */
+final class FranchiseViews {
+
+    private static final Comparator<Integer> STOCK_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private FranchiseViews() {
+    }
+
+    /**
+     * The same view {@link co.com.bancolombia.model.gateway.FranchiseRepositoryPort#findWithMaxStockProductPerBranch}
+     * reads: every branch keeps only its first product with the highest stock, or none when it has no products.
+     */
+    static Franchise withMaxStockProducts(Franchise franchise) {
+        return withBranches(franchise, franchise.getBranches().stream()
+                .map(branch -> new Branch(branch.getId(), branch.getName(), maxStockProduct(branch)))
+                .toList());
+    }
+
+    private static List<Product> maxStockProduct(Branch branch) {
+        Product max = null;
+        for (Product product : branch.getProducts()) {
+            if (max == null || STOCK_ORDER.compare(product.getStock(), max.getStock()) > 0) {
+                max = product;
+            }
+        }
+        return max == null ? List.of() : List.of(max);
+    }
+
+    /**
+     * The same partial view {@link co.com.bancolombia.model.gateway.FranchiseRepositoryPort#findByIdWithBranch} reads:
+     * the franchise with only the requested branch, or with no branches when it does not have it.
+     */
+    static Franchise withBranch(Franchise franchise, String branchId) {
+        Branch branch = franchise.findBranchById(branchId);
+        return withBranches(franchise, branch == null ? List.of() : List.of(branch));
+    }
+
+    private static Franchise withBranches(Franchise franchise, List<Branch> branches) {
+        return new Franchise(franchise.getId(), franchise.getName(), branches, franchise.getVersion());
+    }
+}
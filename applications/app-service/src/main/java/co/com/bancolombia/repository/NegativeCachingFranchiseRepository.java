@@ -0,0 +1,154 @@
+package co.com.bancolombia.repository;
+
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.BulkItemResult;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.PageResult;
+import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import co.com.bancolombia.model.gateway.UnknownFranchiseException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers, for a short while, the ids that turned out not to belong to any franchise, so repeated reads of them fail
+ * with {@link UnknownFranchiseException} without a database round trip. The set is bounded in size and entries expire
+ * on their own; ids are forgotten as soon as a franchise is stored under them.
+ */
+@Slf4j
+public class NegativeCachingFranchiseRepository extends DelegatingFranchiseRepository {
+
+    private final Cache<String, Boolean> unknownIds;
+    private final Counter hits;
+
+    public NegativeCachingFranchiseRepository(FranchiseRepositoryPort delegate, long maximumSize, Duration ttl,
+                                              MeterRegistry meterRegistry) {
+        this(delegate, maximumSize, ttl, meterRegistry, Ticker.systemTicker());
+    }
+
+    NegativeCachingFranchiseRepository(FranchiseRepositoryPort delegate, long maximumSize, Duration ttl,
+                                       MeterRegistry meterRegistry, Ticker ticker) {
+        super(delegate);
+        this.unknownIds = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .build();
+        this.hits = Counter.builder("franchise.cache.lookups")
+                .tag("view", "unknown")
+                .tag("result", "hit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Franchise> findById(String id) {
+        return guarded(id, () -> delegate.findById(id));
+    }
+
+    @Override
+    public Mono<Franchise> findByIdWithBranch(String franchiseId, String branchId) {
+        return guarded(franchiseId, () -> delegate.findByIdWithBranch(franchiseId, branchId));
+    }
+
+    @Override
+    public Mono<Franchise> findWithMaxStockProductPerBranch(String franchiseId) {
+        return guarded(franchiseId, () -> delegate.findWithMaxStockProductPerBranch(franchiseId));
+    }
+
+    @Override
+    public Mono<PageResult<Branch>> findBranchPage(String franchiseId, int offset, int size) {
+        return guarded(franchiseId, () -> delegate.findBranchPage(franchiseId, offset, size));
+    }
+
+    @Override
+    public Mono<PageResult<Product>> findProductPage(String franchiseId, String branchId, int offset, int size) {
+        return guarded(franchiseId, () -> delegate.findProductPage(franchiseId, branchId, offset, size));
+    }
+
+    @Override
+    public Mono<List<Product>> findTopStockProducts(String franchiseId, String branchId, int k) {
+        return guarded(franchiseId, () -> delegate.findTopStockProducts(franchiseId, branchId, k));
+    }
+
+    /**
+     * Leaves known unknown ids out of the query, and remembers the requested ids the query did not return.
+     */
+    @Override
+    public Flux<Franchise> findAllWithMaxStockProductPerBranch(List<String> franchiseIds) {
+        return Flux.defer(() -> {
+            List<String> candidates = franchiseIds.stream()
+                    .filter(id -> unknownIds.getIfPresent(id) == null)
+                    .toList();
+            hits.increment(franchiseIds.size() - candidates.size());
+            if (candidates.isEmpty()) {
+                return Flux.empty();
+            }
+            Set<String> found = ConcurrentHashMap.newKeySet();
+            return delegate.findAllWithMaxStockProductPerBranch(candidates)
+                    .doOnNext(franchise -> found.add(franchise.getId()))
+                    .doOnComplete(() -> candidates.stream()
+                            .filter(id -> !found.contains(id))
+                            .forEach(this::remember));
+        });
+    }
+
+    @Override
+    public Mono<Franchise> save(Franchise franchise) {
+        return delegate.save(franchise)
+                .doOnNext(saved -> forget(saved.getId()));
+    }
+
+    @Override
+    public Flux<BulkItemResult<Franchise>> insertAll(List<Franchise> franchises) {
+        return delegate.insertAll(franchises)
+                .doOnNext(result -> {
+                    if (!result.isFailed()) {
+                        forget(result.getItem().getId());
+                    }
+                });
+    }
+
+    /**
+     * Stops answering reads of the id from the negative cache.
+     */
+    public void forget(String franchiseId) {
+        if (franchiseId != null) {
+            unknownIds.invalidate(franchiseId);
+        }
+    }
+
+    /**
+     * Forgets every id known to be unknown.
+     */
+    public void forgetAll() {
+        unknownIds.invalidateAll();
+    }
+
+    private void remember(String franchiseId) {
+        log.debug("Remembering unknown Franchise {}", franchiseId);
+        unknownIds.put(franchiseId, Boolean.TRUE);
+    }
+
+    private <T> Mono<T> guarded(String franchiseId, Supplier<Mono<T>> read) {
+        return Mono.defer(() -> {
+            if (unknownIds.getIfPresent(franchiseId) != null) {
+                hits.increment();
+                return Mono.error(new UnknownFranchiseException(franchiseId));
+            }
+            return read.get()
+                    .doOnError(UnknownFranchiseException.class, error -> remember(franchiseId));
+        });
+    }
+}
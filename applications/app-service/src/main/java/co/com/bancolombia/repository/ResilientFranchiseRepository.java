@@ -0,0 +1,245 @@
+package co.com.bancolombia.repository;
+
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.BulkItemResult;
+import co.com.bancolombia.model.FieldSelection;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.PageResult;
+import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import co.com.bancolombia.model.gateway.FranchiseStoreUnavailableException;
+import co.com.bancolombia.model.gateway.StaleReads;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the service responsive while the database is slow or down. Every call that reaches this layer goes through a
+ * circuit breaker, so once too many fail the following ones are rejected right away instead of each waiting for the
+ * driver timeout, and reads are cut off after a short timeout. Writes are not timed out, since one that is abandoned
+ * may still be applied.
+ * <p>
+ * It sits below the franchise caches, so reads they answer neither count towards the breaker nor are rejected by it,
+ * and above {@link CoalescingFranchiseRepository}, so every caller sharing a load still gets its own stale fallback.
+ * <p>
+ * The last successful result of each single-franchise read, branch or product page and top-stock ranking is kept as a
+ * last-known-good copy. When such a read fails because the database is unavailable, callers that opted in with
+ * {@link StaleReads} get that copy, flagged as stale, while the read is retried in the background. Everyone else gets
+ * the error. Only the failures {@link #isInfrastructureFailure} accepts are counted by the breaker and answered with
+ * stale data; invalid input, unknown franchises and duplicate names pass through untouched.
+ */
+@Slf4j
+public class ResilientFranchiseRepository extends DelegatingFranchiseRepository {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Duration readTimeout;
+    private final Cache<ReadKey, Object> lastKnownGood;
+    private final Set<ReadKey> revalidating = ConcurrentHashMap.newKeySet();
+    private final Counter staleReads;
+
+    public ResilientFranchiseRepository(FranchiseRepositoryPort delegate, CircuitBreaker circuitBreaker,
+                                        Duration readTimeout, long staleMaximumSize, Duration staleTtl,
+                                        MeterRegistry meterRegistry) {
+        this(delegate, circuitBreaker, readTimeout, staleMaximumSize, staleTtl, meterRegistry, Ticker.systemTicker());
+    }
+
+    ResilientFranchiseRepository(FranchiseRepositoryPort delegate, CircuitBreaker circuitBreaker,
+                                 Duration readTimeout, long staleMaximumSize, Duration staleTtl,
+                                 MeterRegistry meterRegistry, Ticker ticker) {
+        super(delegate);
+        this.circuitBreaker = circuitBreaker;
+        this.readTimeout = readTimeout;
+        this.lastKnownGood = Caffeine.newBuilder()
+                .maximumSize(staleMaximumSize)
+                .expireAfterWrite(staleTtl)
+                .ticker(ticker)
+                .build();
+        this.staleReads = Counter.builder("franchise.reads.stale").register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Franchise> findById(String id) {
+        return readWithFallback(new ReadKey(ReadKey.FULL, id, List.of()), () -> delegate.findById(id));
+    }
+
+    @Override
+    public Mono<Franchise> findByIdWithBranch(String franchiseId, String branchId) {
+        return readWithFallback(new ReadKey(ReadKey.BRANCH, franchiseId, List.of(branchId)),
+                () -> delegate.findByIdWithBranch(franchiseId, branchId));
+    }
+
+    @Override
+    public Mono<Franchise> findWithMaxStockProductPerBranch(String franchiseId) {
+        return readWithFallback(new ReadKey(ReadKey.MAX_STOCK, franchiseId, List.of()),
+                () -> delegate.findWithMaxStockProductPerBranch(franchiseId));
+    }
+
+    @Override
+    public Flux<Franchise> findAll(String namePrefix, int batchSize, FieldSelection fields) {
+        return guarded(Flux.defer(() -> delegate.findAll(namePrefix, batchSize, fields)));
+    }
+
+    @Override
+    public Mono<PageResult<Franchise>> findPage(String afterId, int size, FieldSelection fields) {
+        return read(() -> delegate.findPage(afterId, size, fields));
+    }
+
+    @Override
+    public Mono<PageResult<Branch>> findBranchPage(String franchiseId, int offset, int size) {
+        return readWithFallback(new ReadKey(ReadKey.BRANCH_PAGE, franchiseId, List.of(offset, size)),
+                () -> delegate.findBranchPage(franchiseId, offset, size));
+    }
+
+    @Override
+    public Mono<PageResult<Product>> findProductPage(String franchiseId, String branchId, int offset, int size) {
+        return readWithFallback(new ReadKey(ReadKey.PRODUCT_PAGE, franchiseId, List.of(branchId, offset, size)),
+                () -> delegate.findProductPage(franchiseId, branchId, offset, size));
+    }
+
+    @Override
+    public Mono<List<Product>> findTopStockProducts(String franchiseId, String branchId, int k) {
+        return readWithFallback(new ReadKey(ReadKey.TOP_STOCK, franchiseId, List.of(branchId, k)),
+                () -> delegate.findTopStockProducts(franchiseId, branchId, k));
+    }
+
+    @Override
+    public Flux<Franchise> findAllWithMaxStockProductPerBranch(List<String> franchiseIds) {
+        return guarded(Flux.defer(() -> delegate.findAllWithMaxStockProductPerBranch(franchiseIds)));
+    }
+
+    @Override
+    public Mono<Franchise> save(Franchise franchise) {
+        return write(() -> delegate.save(franchise));
+    }
+
+    @Override
+    public Flux<BulkItemResult<Franchise>> insertAll(List<Franchise> franchises) {
+        return guarded(Flux.defer(() -> delegate.insertAll(franchises)));
+    }
+
+    @Override
+    public Mono<Franchise> renameFranchise(String franchiseId, String name) {
+        return write(() -> delegate.renameFranchise(franchiseId, name));
+    }
+
+    @Override
+    public Mono<Branch> renameBranch(String franchiseId, String branchId, String name) {
+        return write(() -> delegate.renameBranch(franchiseId, branchId, name));
+    }
+
+    @Override
+    public Mono<Branch> addBranchToFranchise(String franchiseId, Branch branch) {
+        return write(() -> delegate.addBranchToFranchise(franchiseId, branch));
+    }
+
+    @Override
+    public Mono<Product> addProductToBranch(String franchiseId, String branchId, Product product) {
+        return write(() -> delegate.addProductToBranch(franchiseId, branchId, product));
+    }
+
+    @Override
+    public Mono<Product> updateProductInBranch(String franchiseId, String branchId, String productId, String name, int stockIncrement) {
+        return write(() -> delegate.updateProductInBranch(franchiseId, branchId, productId, name, stockIncrement));
+    }
+
+    @Override
+    public Mono<Product> incrementProductStock(String franchiseId, String branchId, String productId, int increment) {
+        return write(() -> delegate.incrementProductStock(franchiseId, branchId, productId, increment));
+    }
+
+    @Override
+    public Mono<Boolean> upsertBranchProducts(String franchiseId, String branchId, List<Product> updated, List<Product> created) {
+        return write(() -> delegate.upsertBranchProducts(franchiseId, branchId, updated, created));
+    }
+
+    @Override
+    public Mono<Boolean> removeProductFromBranch(String franchiseId, String branchId, String productId) {
+        return write(() -> delegate.removeProductFromBranch(franchiseId, branchId, productId));
+    }
+
+    private <T> Mono<T> readWithFallback(ReadKey key, Supplier<Mono<T>> load) {
+        return read(load)
+                .doOnNext(result -> lastKnownGood.put(key, result))
+                .onErrorResume(error -> isInfrastructureFailure(error) || error instanceof CallNotPermittedException,
+                        error -> serveStale(key, load, error));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> serveStale(ReadKey key, Supplier<Mono<T>> load, Throwable error) {
+        return Mono.deferContextual(context -> {
+            T stale = (T) lastKnownGood.getIfPresent(key);
+            if (stale == null || !context.hasKey(StaleReads.class)) {
+                return Mono.error(error);
+            }
+            log.warn("Serving stale {} after {}", key, error.toString());
+            staleReads.increment();
+            context.<StaleReads>get(StaleReads.class).markStale();
+            revalidate(key, load);
+            return Mono.just(stale);
+        });
+    }
+
+    /**
+     * Retries the read in the background, at most once at a time per view, so the last-known-good copy catches up as
+     * soon as the database answers again. While the breaker is open the retry is rejected without reaching it.
+     */
+    private <T> void revalidate(ReadKey key, Supplier<Mono<T>> load) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        read(load)
+                .doFinally(signal -> revalidating.remove(key))
+                .subscribe(result -> lastKnownGood.put(key, result),
+                        error -> log.debug("Revalidation of {} failed: {}", key, error.toString()));
+    }
+
+    private <T> Mono<T> read(Supplier<Mono<T>> read) {
+        return Mono.defer(read)
+                .timeout(readTimeout)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    private <T> Mono<T> write(Supplier<Mono<T>> write) {
+        return Mono.defer(write)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    private <T> Flux<T> guarded(Flux<T> calls) {
+        return calls.transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    /**
+     * Whether the database could not be reached or did not answer in time, as opposed to rejecting the call. The
+     * circuit breaker records only these failures.
+     */
+    public static boolean isInfrastructureFailure(Throwable error) {
+        return error instanceof TimeoutException || error instanceof FranchiseStoreUnavailableException;
+    }
+
+    /**
+     * Identifies a read by its view and every argument it was given, so each page and ranking keeps its own copy.
+     */
+    private record ReadKey(String view, String franchiseId, List<Object> arguments) {
+        private static final String FULL = "full";
+        private static final String BRANCH = "branch";
+        private static final String MAX_STOCK = "max-stock";
+        private static final String BRANCH_PAGE = "branch-page";
+        private static final String PRODUCT_PAGE = "product-page";
+        private static final String TOP_STOCK = "top-stock";
+    }
+}
@@ -3,6 +3,7 @@ package co.com.bancolombia.service;
 import co.com.bancolombia.model.Branch;
 import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
 import co.com.bancolombia.service.base.BaseFranchiseService;
+import co.com.bancolombia.usecase.exceptions.DuplicateBranchException;
 import co.com.bancolombia.usecase.in.branch.AddBranchToFranchiseUseCase;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -22,20 +23,18 @@ public class AddBranchToFranchiseService extends BaseFranchiseService implements
     public Mono<Branch> addBranchToFranchise(String franchiseId, Branch branch) {
         logOperationStart("Adding Branch %s to Franchise %s", branch.getName(), franchiseId);
 
-        return franchiseRepositoryPort.findById(franchiseId)
-                .flatMap(franchise -> {
-                    validateBranchNameNotDuplicated(franchise, branch.getName());
-                    
-                    addBranchToFranchise(franchise, branch);
-                    
-                    return saveFranchiseAndReturn(franchise, branch);
-                })
+        branch.setId(UUID.randomUUID().toString());
+        return franchiseRepositoryPort.addBranchToFranchise(franchiseId, branch)
+                .switchIfEmpty(Mono.defer(() -> branchNotAdded(franchiseId, branch)))
                 .doOnSuccess(addedBranch -> logSuccess("Branch addition"))
                 .doOnError(error -> logError("adding Branch", error.getMessage()));
     }
 
-    private void addBranchToFranchise(co.com.bancolombia.model.Franchise franchise, Branch branch) {
-        branch.setId(UUID.randomUUID().toString());
-        franchise.getBranches().add(branch);
+    private Mono<Branch> branchNotAdded(String franchiseId, Branch branch) {
+        return franchiseRepositoryPort.findById(franchiseId)
+                .flatMap(franchise -> {
+                    log.warn("Branch with name {} already exists in Franchise", branch.getName());
+                    return Mono.error(new DuplicateBranchException(branch.getName(), franchise.getName()));
+                });
     }
 }
@@ -4,13 +4,15 @@ import co.com.bancolombia.model.Branch;
 import co.com.bancolombia.model.Product;
 import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
 import co.com.bancolombia.service.base.BaseFranchiseService;
+import co.com.bancolombia.usecase.exceptions.DuplicateProductException;
 import co.com.bancolombia.usecase.in.product.AddProductToBranchUseCase;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
 import java.util.UUID;
 
-
+@Slf4j
 @Service
 public class AddProductToBranchService extends BaseFranchiseService implements AddProductToBranchUseCase {
 
@@ -22,21 +24,19 @@ public class AddProductToBranchService extends BaseFranchiseService implements A
     public Mono<Product> addProductToBranch(String franchiseId, String branchId, Product product) {
         logOperationStart("Adding Product %s to Branch %s", product.getName(), branchId);
 
-        return franchiseRepositoryPort.findById(franchiseId)
-                .flatMap(franchise -> {
-                    Branch branch = findBranchOrThrow(franchise, branchId);
-                    validateProductNameNotDuplicated(branch, product.getName());
-                    
-                    addProductToBranch(branch, product);
-                    
-                    return saveFranchiseAndReturn(franchise, product);
-                })
+        product.setId(UUID.randomUUID().toString());
+        return franchiseRepositoryPort.addProductToBranch(franchiseId, branchId, product)
+                .switchIfEmpty(Mono.defer(() -> productNotAdded(franchiseId, branchId, product)))
                 .doOnSuccess(addedProduct -> logSuccess("Product addition"))
                 .doOnError(error -> logError("adding Product", error.getMessage()));
     }
 
-    private void addProductToBranch(Branch branch, Product product) {
-        product.setId(UUID.randomUUID().toString());
-        branch.getProducts().add(product);
+    private Mono<Product> productNotAdded(String franchiseId, String branchId, Product product) {
+        return franchiseRepositoryPort.findByIdWithBranch(franchiseId, branchId)
+                .flatMap(franchise -> {
+                    Branch branch = findBranchOrThrow(franchise, branchId);
+                    log.warn("Product with name {} already exists in Branch", product.getName());
+                    return Mono.error(new DuplicateProductException(product.getName(), branch.getName()));
+                });
     }
 }
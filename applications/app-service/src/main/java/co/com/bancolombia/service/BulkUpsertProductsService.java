@@ -0,0 +1,152 @@
+package co.com.bancolombia.service;
+
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.BulkItemResult;
+import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import co.com.bancolombia.service.base.BaseFranchiseService;
+import co.com.bancolombia.usecase.exceptions.DuplicateProductException;
+import co.com.bancolombia.usecase.exceptions.ProductNotFoundException;
+import co.com.bancolombia.usecase.in.product.BulkUpsertProductsUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class BulkUpsertProductsService extends BaseFranchiseService implements BulkUpsertProductsUseCase {
+
+    public BulkUpsertProductsService(FranchiseRepositoryPort franchiseRepositoryPort) {
+        super(franchiseRepositoryPort);
+    }
+
+    /**
+     * Creates or updates every product of the batch in one unordered bulk write. A product is matched by its id when
+     * given, otherwise by name, against the branch as read, and its stock is replaced rather than incremented; invalid
+     * items are reported as failed without aborting the rest of the batch. Each write is guarded, so the items whose
+     * write did not apply are found by reading the branch again and reported as failed.
+     */
+    @Override
+    public Flux<BulkItemResult<Product>> upsertProducts(String franchiseId, String branchId, List<Product> products) {
+        logOperationStart("Upserting %d Products in Branch %s", products.size(), branchId);
+
+        return franchiseRepositoryPort.findByIdWithBranch(franchiseId, branchId)
+                .flatMap(franchise -> {
+                    Batch batch = plan(findBranchOrThrow(franchise, branchId), products);
+                    if (batch.updated().isEmpty() && batch.created().isEmpty()) {
+                        return Mono.just(batch.results());
+                    }
+                    return franchiseRepositoryPort.upsertBranchProducts(franchiseId, branchId, batch.updated(), batch.created())
+                            .flatMap(applied -> applied
+                                    ? Mono.just(batch.results())
+                                    : writtenResults(franchiseId, branchId, batch.results()));
+                })
+                .flatMapMany(Flux::fromIterable)
+                .doOnComplete(() -> logSuccess("Product bulk upsert"))
+                .doOnError(error -> logError("upserting Products", error.getMessage()));
+    }
+
+    private Batch plan(Branch branch, List<Product> products) {
+        Batch batch = new Batch(new ArrayList<>(products.size()), new ArrayList<>(), new ArrayList<>());
+        Set<String> namesInBatch = new HashSet<>();
+        Set<String> idsInBatch = new HashSet<>();
+
+        for (Product product : products) {
+            String invalid = validate(product, namesInBatch);
+            if (invalid != null) {
+                batch.results().add(BulkItemResult.failed(product, invalid));
+                continue;
+            }
+
+            Product byName = branch.findProductByName(product.getName());
+            if (product.getId() == null) {
+                if (byName == null) {
+                    Product created = new Product(UUID.randomUUID().toString(), product.getName(), product.getStock());
+                    batch.created().add(created);
+                    batch.results().add(BulkItemResult.created(created));
+                } else {
+                    update(batch, idsInBatch, product, byName.getId());
+                }
+                continue;
+            }
+
+            Product byId = branch.findProductById(product.getId());
+            if (byId == null) {
+                batch.results().add(BulkItemResult.failed(product, new ProductNotFoundException(product.getId()).getMessage()));
+            } else if (byName != null && byName != byId) {
+                batch.results().add(BulkItemResult.failed(product, new DuplicateProductException(product.getName(), branch.getName()).getMessage()));
+            } else {
+                update(batch, idsInBatch, product, byId.getId());
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Records the update of a branch product as a copy, so no later item of the batch can change it. A product
+     * targeted twice fails the second time, since unordered writes could apply in either order.
+     */
+    private void update(Batch batch, Set<String> idsInBatch, Product product, String productId) {
+        if (!idsInBatch.add(productId)) {
+            batch.results().add(BulkItemResult.failed(product, "Product <" + productId + "> is repeated in the request"));
+            return;
+        }
+        Product updated = new Product(productId, product.getName(), product.getStock());
+        batch.updated().add(updated);
+        batch.results().add(BulkItemResult.updated(updated));
+    }
+
+    /**
+     * Reads the branch after a bulk write that did not fully apply and fails every planned item whose product is not
+     * there under its name.
+     */
+    private Mono<List<BulkItemResult<Product>>> writtenResults(String franchiseId, String branchId,
+                                                              List<BulkItemResult<Product>> results) {
+        return franchiseRepositoryPort.findByIdWithBranch(franchiseId, branchId)
+                .map(franchise -> {
+                    Branch branch = findBranchOrThrow(franchise, branchId);
+                    return results.stream()
+                            .map(result -> result.isFailed() || isWritten(branch, result.getItem())
+                                    ? result
+                                    : notWritten(branch, result))
+                            .toList();
+                });
+    }
+
+    private boolean isWritten(Branch branch, Product product) {
+        Product stored = branch.findProductById(product.getId());
+        return stored != null && product.getName().equals(stored.getName());
+    }
+
+    private BulkItemResult<Product> notWritten(Branch branch, BulkItemResult<Product> result) {
+        Product product = result.getItem();
+        if (result.getStatus() == BulkItemResult.Status.UPDATED && branch.findProductById(product.getId()) == null) {
+            return BulkItemResult.failed(product, new ProductNotFoundException(product.getId()).getMessage());
+        }
+        log.warn("Product with name {} already exists in Branch", product.getName());
+        return BulkItemResult.failed(product, new DuplicateProductException(product.getName(), branch.getName()).getMessage());
+    }
+
+    private String validate(Product product, Set<String> namesInBatch) {
+        if (product.getName() == null || product.getName().isBlank()) {
+            return "Product name is required";
+        }
+        if (product.getStock() == null || product.getStock() < 0) {
+            return "Product must be greater or equals to ZERO - 0";
+        }
+        if (!namesInBatch.add(product.getName())) {
+            return "Product with name <" + product.getName() + "> is repeated in the request";
+        }
+        return null;
+    }
+
+    private record Batch(List<BulkItemResult<Product>> results, List<Product> updated, List<Product> created) {
+    }
+}
@@ -1,9 +1,9 @@
 package co.com.bancolombia.service;
 
 import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.gateway.DuplicateFranchiseException;
 import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
 import co.com.bancolombia.service.base.BaseFranchiseService;
-import co.com.bancolombia.usecase.exceptions.DuplicateFranchiseException;
 import co.com.bancolombia.usecase.in.franchise.CreateFranchiseUseCase;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,21 +21,23 @@ public class DeleteProductFromBranchService extends BaseFranchiseService impleme
     public Mono<Void> deleteProductFromBranch(String franchiseId, String branchId, String productId) {
         logOperationStart("Deleting Product %s from Branch %s", productId, branchId);
 
-        return franchiseRepositoryPort.findById(franchiseId)
+        return franchiseRepositoryPort.findByIdWithBranch(franchiseId, branchId)
                 .flatMap(franchise -> {
                     Branch branch = findBranchOrThrow(franchise, branchId);
-                    removeProductFromBranch(branch, productId);
-                    return saveFranchise(franchise);
+                    findProductOrThrow(branch, productId);
+                    return removeProductFromBranch(franchiseId, branchId, productId);
                 })
                 .doOnSuccess(result -> logSuccess("Product deletion"))
                 .doOnError(error -> logError("deleting Product", error.getMessage()));
     }
 
-    private void removeProductFromBranch(Branch branch, String productId) {
-        boolean productRemoved = branch.getProducts().removeIf(product -> product.getId().equals(productId));
-        if (!productRemoved) {
-            log.warn("Product with id {} does not exist in Branch", productId);
-            throw new ProductNotFoundException(productId);
-        }
+    private Mono<Void> removeProductFromBranch(String franchiseId, String branchId, String productId) {
+        return franchiseRepositoryPort.removeProductFromBranch(franchiseId, branchId, productId)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.warn("Product with id {} does not exist in Branch", productId);
+                    return new ProductNotFoundException(productId);
+                }))
+                .then();
     }
 }
@@ -0,0 +1,35 @@
+package co.com.bancolombia.service;
+
+import co.com.bancolombia.model.FieldSelection;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import co.com.bancolombia.service.base.BaseFranchiseService;
+import co.com.bancolombia.usecase.in.franchise.ExportFranchisesUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+@Slf4j
+@Service
+public class ExportFranchisesService extends BaseFranchiseService implements ExportFranchisesUseCase {
+
+    private static final int MAX_BATCH_SIZE = 10_000;
+
+    public ExportFranchisesService(FranchiseRepositoryPort franchiseRepositoryPort) {
+        super(franchiseRepositoryPort);
+    }
+
+    @Override
+    public Flux<Franchise> exportFranchises(String namePrefix, int batchSize, FieldSelection fields) {
+        logOperationStart("Exporting Franchises with name prefix %s", namePrefix);
+
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+            return Flux.error(new IllegalArgumentException("Batch size must be between 1 and " + MAX_BATCH_SIZE));
+        }
+        String normalizedPrefix = namePrefix == null || namePrefix.isBlank() ? null : namePrefix.trim().toLowerCase();
+
+        return franchiseRepositoryPort.findAll(normalizedPrefix, batchSize, fields)
+                .doOnComplete(() -> logSuccess("Franchise export"))
+                .doOnError(error -> logError("exporting Franchises", error.getMessage()));
+    }
+}
@@ -1,22 +1,23 @@
 package co.com.bancolombia.service;
 
-import co.com.bancolombia.model.Branch;
 import co.com.bancolombia.model.Franchise;
-import co.com.bancolombia.model.Product;
 import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
 import co.com.bancolombia.service.base.BaseFranchiseService;
 import co.com.bancolombia.usecase.in.product.GetMaxStockByBranchInFranchiseUseCase;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 
 @Slf4j
 @Service
 public class GetMaxStockByBranchInFranchiseService extends BaseFranchiseService implements GetMaxStockByBranchInFranchiseUseCase {
 
+    static final int MAX_BATCH_SIZE = 100;
+
     public GetMaxStockByBranchInFranchiseService(FranchiseRepositoryPort franchiseRepositoryPort) {
         super(franchiseRepositoryPort);
     }
@@ -25,28 +26,26 @@ public class GetMaxStockByBranchInFranchiseService extends BaseFranchiseService
     public Mono<Franchise> getMaxStockByBranchInFranchise(String franchiseId) {
         logOperationStart("Calculating Products with max stock for Franchise %s", franchiseId);
 
-        return franchiseRepositoryPort.findById(franchiseId)
-                .map(this::buildFranchiseWithMaxStockProducts);
+        return franchiseRepositoryPort.findWithMaxStockProductPerBranch(franchiseId);
     }
 
-    private Franchise buildFranchiseWithMaxStockProducts(Franchise franchise) {
-        List<Branch> branchesWithMaxStock = franchise.getBranches()
-                .stream()
-                .map(this::buildBranchWithMaxStockProduct)
+    @Override
+    public Flux<Franchise> getMaxStockByBranchInFranchises(List<String> franchiseIds) {
+        logOperationStart("Calculating Products with max stock for %s Franchises", franchiseIds.size());
+
+        List<String> distinctIds = franchiseIds.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .distinct()
                 .toList();
-        
-        return new Franchise(franchise.getId(), franchise.getName(), branchesWithMaxStock);
-    }
-
-    private Branch buildBranchWithMaxStockProduct(Branch branch) {
-        List<Product> maxStockProduct = findMaxStockProduct(branch.getProducts());
-        return new Branch(branch.getId(), branch.getName(), maxStockProduct);
-    }
-
-    private List<Product> findMaxStockProduct(List<Product> products) {
-        return products.stream()
-                .max(Comparator.comparingInt(Product::getStock))
-                .map(List::of)
-                .orElse(List.of());
+        if (distinctIds.isEmpty()) {
+            return Flux.error(new IllegalArgumentException("At least one Franchise id is required"));
+        }
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            return Flux.error(new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " Franchises can be read at once"));
+        }
+
+        return franchiseRepositoryPort.findAllWithMaxStockProductPerBranch(distinctIds);
     }
 }
@@ -0,0 +1,40 @@
+package co.com.bancolombia.service;
+
+import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import co.com.bancolombia.service.base.BaseFranchiseService;
+import co.com.bancolombia.usecase.exceptions.BranchNotFoundException;
+import co.com.bancolombia.usecase.in.product.GetTopStockProductsUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Slf4j
+@Service
+public class GetTopStockProductsService extends BaseFranchiseService implements GetTopStockProductsUseCase {
+
+    static final int MAX_K = 100;
+
+    public GetTopStockProductsService(FranchiseRepositoryPort franchiseRepositoryPort) {
+        super(franchiseRepositoryPort);
+    }
+
+    /**
+     * Returns the {@code k} products of the branch with the highest stock, highest first; ties keep branch order.
+     */
+    @Override
+    public Mono<List<Product>> getTopStockProducts(String franchiseId, String branchId, int k) {
+        logOperationStart("Getting top %d stock Products of Branch %s in Franchise %s", k, branchId, franchiseId);
+
+        if (k < 1 || k > MAX_K) {
+            return Mono.error(new IllegalArgumentException("k must be between 1 and " + MAX_K));
+        }
+
+        return franchiseRepositoryPort.findTopStockProducts(franchiseId, branchId, k)
+                .switchIfEmpty(Mono.error(() -> new BranchNotFoundException(branchId)))
+                .doOnSuccess(products -> logSuccess("Top stock Products"))
+                .doOnError(error -> logError("getting top stock Products", error.getMessage()));
+    }
+}
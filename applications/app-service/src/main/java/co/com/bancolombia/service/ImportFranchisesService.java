@@ -0,0 +1,97 @@
+package co.com.bancolombia.service;
+
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.BulkItemResult;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import co.com.bancolombia.service.base.BaseFranchiseService;
+import co.com.bancolombia.usecase.exceptions.DuplicateBranchException;
+import co.com.bancolombia.usecase.exceptions.DuplicateProductException;
+import co.com.bancolombia.usecase.in.franchise.ImportFranchisesUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class ImportFranchisesService extends BaseFranchiseService implements ImportFranchisesUseCase {
+
+    public ImportFranchisesService(FranchiseRepositoryPort franchiseRepositoryPort) {
+        super(franchiseRepositoryPort);
+    }
+
+    /**
+     * Stores a batch of complete franchises with one unordered insert. Records with repeated branch or product names
+     * are reported as failed and never reach the database.
+     */
+    @Override
+    public Flux<BulkItemResult<Franchise>> importFranchises(List<Franchise> franchises) {
+        logOperationStart("Importing %d Franchises", franchises.size());
+
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            List<String> errors = new ArrayList<>(franchises.size());
+            List<Franchise> valid = new ArrayList<>(franchises.size());
+            for (Franchise franchise : franchises) {
+                String error = prepare(franchise);
+                errors.add(error);
+                if (error == null) {
+                    valid.add(franchise);
+                }
+            }
+
+            Flux<BulkItemResult<Franchise>> inserted = valid.isEmpty()
+                    ? Flux.empty()
+                    : franchiseRepositoryPort.insertAll(valid);
+            return inserted.collectList()
+                    .flatMapIterable(results -> merge(franchises, errors, results))
+                    .doOnComplete(() -> logThroughput(franchises.size(), Duration.ofNanos(System.nanoTime() - start)));
+        }).doOnError(error -> logError("importing Franchises", error.getMessage()));
+    }
+
+    private String prepare(Franchise franchise) {
+        Set<String> branchNames = new HashSet<>();
+        for (Branch branch : franchise.getBranches()) {
+            if (!branchNames.add(branch.getName())) {
+                return new DuplicateBranchException(branch.getName(), franchise.getName()).getMessage();
+            }
+            if (branch.getProducts() == null) {
+                branch.setProducts(new ArrayList<>());
+            }
+            Set<String> productNames = new HashSet<>();
+            for (Product product : branch.getProducts()) {
+                if (!productNames.add(product.getName())) {
+                    return new DuplicateProductException(product.getName(), branch.getName()).getMessage();
+                }
+                product.setId(UUID.randomUUID().toString());
+            }
+            branch.setId(UUID.randomUUID().toString());
+        }
+        return null;
+    }
+
+    private List<BulkItemResult<Franchise>> merge(List<Franchise> franchises, List<String> errors, List<BulkItemResult<Franchise>> inserted) {
+        List<BulkItemResult<Franchise>> results = new ArrayList<>(franchises.size());
+        Iterator<BulkItemResult<Franchise>> insertedResults = inserted.iterator();
+        for (int i = 0; i < franchises.size(); i++) {
+            results.add(errors.get(i) == null
+                    ? insertedResults.next()
+                    : BulkItemResult.failed(franchises.get(i), errors.get(i)));
+        }
+        return results;
+    }
+
+    private void logThroughput(int records, Duration elapsed) {
+        long millis = Math.max(elapsed.toMillis(), 1);
+        log.info("Imported chunk of {} Franchises in {} ms ({} records/s)", records, millis, records * 1000L / millis);
+    }
+}
@@ -0,0 +1,35 @@
+package co.com.bancolombia.service;
+
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.PageResult;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import co.com.bancolombia.service.base.BaseFranchiseService;
+import co.com.bancolombia.usecase.in.branch.ListBranchesUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+public class ListBranchesService extends BaseFranchiseService implements ListBranchesUseCase {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    public ListBranchesService(FranchiseRepositoryPort franchiseRepositoryPort) {
+        super(franchiseRepositoryPort);
+    }
+
+    @Override
+    public Mono<PageResult<Branch>> listBranches(String franchiseId, String cursor, int size) {
+        logOperationStart("Listing Branches of Franchise %s after cursor %s", franchiseId, cursor);
+
+        if (size < 1) {
+            return Mono.error(new IllegalArgumentException("Page size must be greater than 0"));
+        }
+
+        return Mono.fromCallable(() -> offsetFromCursor(cursor))
+                .flatMap(offset -> franchiseRepositoryPort.findBranchPage(franchiseId, offset, Math.min(size, MAX_PAGE_SIZE)))
+                .doOnSuccess(page -> logSuccess("Branch listing"))
+                .doOnError(error -> logError("listing Branches", error.getMessage()));
+    }
+}
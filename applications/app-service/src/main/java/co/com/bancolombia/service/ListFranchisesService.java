@@ -0,0 +1,36 @@
+package co.com.bancolombia.service;
+
+import co.com.bancolombia.model.FieldSelection;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.PageResult;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import co.com.bancolombia.service.base.BaseFranchiseService;
+import co.com.bancolombia.usecase.in.franchise.ListFranchisesUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+public class ListFranchisesService extends BaseFranchiseService implements ListFranchisesUseCase {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    public ListFranchisesService(FranchiseRepositoryPort franchiseRepositoryPort) {
+        super(franchiseRepositoryPort);
+    }
+
+    @Override
+    public Mono<PageResult<Franchise>> listFranchises(String cursor, int size, FieldSelection fields) {
+        logOperationStart("Listing Franchises after cursor %s", cursor);
+
+        if (size < 1) {
+            return Mono.error(new IllegalArgumentException("Page size must be greater than 0"));
+        }
+        String afterId = cursor == null || cursor.isBlank() ? null : cursor.trim();
+
+        return franchiseRepositoryPort.findPage(afterId, Math.min(size, MAX_PAGE_SIZE), fields)
+                .doOnSuccess(page -> logSuccess("Franchise listing"))
+                .doOnError(error -> logError("listing Franchises", error.getMessage()));
+    }
+}
@@ -0,0 +1,37 @@
+package co.com.bancolombia.service;
+
+import co.com.bancolombia.model.PageResult;
+import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import co.com.bancolombia.service.base.BaseFranchiseService;
+import co.com.bancolombia.usecase.exceptions.BranchNotFoundException;
+import co.com.bancolombia.usecase.in.product.ListProductsUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+public class ListProductsService extends BaseFranchiseService implements ListProductsUseCase {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    public ListProductsService(FranchiseRepositoryPort franchiseRepositoryPort) {
+        super(franchiseRepositoryPort);
+    }
+
+    @Override
+    public Mono<PageResult<Product>> listProducts(String franchiseId, String branchId, String cursor, int size) {
+        logOperationStart("Listing Products of Branch %s in Franchise %s after cursor %s", branchId, franchiseId, cursor);
+
+        if (size < 1) {
+            return Mono.error(new IllegalArgumentException("Page size must be greater than 0"));
+        }
+
+        return Mono.fromCallable(() -> offsetFromCursor(cursor))
+                .flatMap(offset -> franchiseRepositoryPort.findProductPage(franchiseId, branchId, offset, Math.min(size, MAX_PAGE_SIZE)))
+                .switchIfEmpty(Mono.error(() -> new BranchNotFoundException(branchId)))
+                .doOnSuccess(page -> logSuccess("Product listing"))
+                .doOnError(error -> logError("listing Products", error.getMessage()));
+    }
+}
@@ -3,6 +3,7 @@ package co.com.bancolombia.service;
 import co.com.bancolombia.model.Branch;
 import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
 import co.com.bancolombia.service.base.BaseFranchiseService;
+import co.com.bancolombia.usecase.exceptions.DuplicateBranchException;
 import co.com.bancolombia.usecase.in.branch.UpdateBranchNameUseCase;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -20,16 +21,18 @@ public class UpdateBranchNameService extends BaseFranchiseService implements Upd
     public Mono<Branch> updateName(String franchiseId, Branch branch) {
         logOperationStart("Updating Branch Name to %s", branch.getName());
 
-        return franchiseRepositoryPort.findById(franchiseId)
-                .flatMap(franchise -> {
-                    Branch existingBranch = findBranchOrThrow(franchise, branch.getId());
-                    validateBranchNameNotDuplicated(franchise, branch.getName());
-                    
-                    existingBranch.setName(branch.getName());
-                    
-                    return saveFranchiseAndReturn(franchise, existingBranch);
-                })
+        return franchiseRepositoryPort.renameBranch(franchiseId, branch.getId(), branch.getName())
+                .switchIfEmpty(Mono.defer(() -> branchNotRenamed(franchiseId, branch)))
                 .doOnSuccess(updatedBranch -> logSuccess("Branch name update"))
                 .doOnError(error -> logError("updating Branch name", error.getMessage()));
     }
+
+    private Mono<Branch> branchNotRenamed(String franchiseId, Branch branch) {
+        return franchiseRepositoryPort.findByIdWithBranch(franchiseId, branch.getId())
+                .flatMap(franchise -> {
+                    findBranchOrThrow(franchise, branch.getId());
+                    log.warn("Branch with name {} already exists in Franchise", branch.getName());
+                    return Mono.error(new DuplicateBranchException(branch.getName(), franchise.getName()));
+                });
+    }
 }
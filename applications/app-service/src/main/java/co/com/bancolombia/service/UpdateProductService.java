@@ -4,6 +4,7 @@ import co.com.bancolombia.model.Branch;
 import co.com.bancolombia.model.Product;
 import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
 import co.com.bancolombia.service.base.BaseFranchiseService;
+import co.com.bancolombia.usecase.exceptions.DuplicateProductException;
 import co.com.bancolombia.usecase.in.product.UpdateProductUseCase;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,34 +22,42 @@ public class UpdateProductService extends BaseFranchiseService implements Update
     public Mono<Product> updateProduct(String franchiseId, String branchId, Product product) {
         logOperationStart("Updating Product %s in Branch %s", product.getName(), branchId);
 
-        return franchiseRepositoryPort.findById(franchiseId)
-                .flatMap(franchise -> {
-                    Branch branch = findBranchOrThrow(franchise, branchId);
-                    Product existingProduct = findProductOrThrow(branch, product.getId());
-                    validateProductNameNotDuplicated(branch, product.getName());
-                    
-                    updateProductFields(existingProduct, product);
-                    
-                    return saveFranchiseAndReturn(franchise, existingProduct);
-                })
+        Mono<Product> update = hasNewName(product)
+                ? renameAndIncrementStock(franchiseId, branchId, product)
+                : incrementStock(franchiseId, branchId, product);
+
+        return update
                 .doOnSuccess(updatedProduct -> logSuccess("Product update"))
                 .doOnError(error -> logError("updating Product", error.getMessage()));
     }
 
-    private void updateProductFields(Product existingProduct, Product updateData) {
-        updateProductName(existingProduct, updateData.getName());
-        updateProductStock(existingProduct, updateData.getStock());
+    private Mono<Product> incrementStock(String franchiseId, String branchId, Product product) {
+        return franchiseRepositoryPort.incrementProductStock(franchiseId, branchId, product.getId(), stockIncrement(product))
+                .switchIfEmpty(Mono.defer(() -> productNotFound(franchiseId, branchId, product.getId())));
+    }
+
+    private Mono<Product> renameAndIncrementStock(String franchiseId, String branchId, Product product) {
+        return franchiseRepositoryPort.updateProductInBranch(
+                        franchiseId, branchId, product.getId(), product.getName(), stockIncrement(product))
+                .switchIfEmpty(Mono.defer(() -> productNotRenamed(franchiseId, branchId, product)));
+    }
+
+    private Mono<Product> productNotRenamed(String franchiseId, String branchId, Product product) {
+        return franchiseRepositoryPort.findByIdWithBranch(franchiseId, branchId)
+                .flatMap(franchise -> {
+                    Branch branch = findBranchOrThrow(franchise, branchId);
+                    findProductOrThrow(branch, product.getId());
+                    log.warn("Product with name {} already exists in Branch", product.getName());
+                    return Mono.error(new DuplicateProductException(product.getName(), branch.getName()));
+                });
     }
 
-    private void updateProductName(Product existingProduct, String newName) {
-        if (newName != null && !newName.isBlank()) {
-            existingProduct.setName(newName);
-        }
+    private boolean hasNewName(Product product) {
+        return product.getName() != null && !product.getName().isBlank();
     }
 
-    private void updateProductStock(Product existingProduct, Integer stockIncrement) {
-        if (stockIncrement != null && stockIncrement >= 0) {
-            existingProduct.setStock(existingProduct.getStock() + stockIncrement);
-        }
+    private int stockIncrement(Product product) {
+        Integer stockIncrement = product.getStock();
+        return stockIncrement != null && stockIncrement >= 0 ? stockIncrement : 0;
     }
 }
@@ -5,8 +5,6 @@ import co.com.bancolombia.model.Franchise;
 import co.com.bancolombia.model.Product;
 import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
 import co.com.bancolombia.usecase.exceptions.BranchNotFoundException;
-import co.com.bancolombia.usecase.exceptions.DuplicateBranchException;
-import co.com.bancolombia.usecase.exceptions.DuplicateProductException;
 import co.com.bancolombia.usecase.exceptions.ProductNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
@@ -20,6 +18,24 @@ public abstract class BaseFranchiseService {
         this.franchiseRepositoryPort = franchiseRepositoryPort;
     }
 
+    /**
+     * Reads the position-based cursor returned with a previous page of branches or products; the first page has none.
+     */
+    protected int offsetFromCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(cursor.trim());
+            if (offset >= 0) {
+                return offset;
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Cursor {} is not a number", cursor);
+        }
+        throw new IllegalArgumentException("Invalid cursor " + cursor);
+    }
+
     protected Branch findBranchOrThrow(Franchise franchise, String branchId) {
         Branch branch = franchise.findBranchById(branchId);
         if (branch == null) {
@@ -38,26 +54,15 @@ public abstract class BaseFranchiseService {
         return product;
     }
 
-    protected void validateBranchNameNotDuplicated(Franchise franchise, String branchName) {
-        if (franchise.existsBranchByName(branchName)) {
-            log.warn("Branch with name {} already exists in Franchise", branchName);
-            throw new DuplicateBranchException(branchName, franchise.getName());
-        }
-    }
-
-    protected void validateProductNameNotDuplicated(Branch branch, String productName) {
-        if (productName != null && !productName.isBlank() && branch.existsProductByName(branch, productName)) {
-            log.warn("Product with name {} already exists in Branch", productName);
-            throw new DuplicateProductException(productName, branch.getName());
-        }
-    }
-
-    protected <T> Mono<T> saveFranchiseAndReturn(Franchise franchise, T returnValue) {
-        return franchiseRepositoryPort.save(franchise).thenReturn(returnValue);
-    }
-
-    protected Mono<Void> saveFranchise(Franchise franchise) {
-        return franchiseRepositoryPort.save(franchise).then();
+    /**
+     * Resolves why a targeted product write matched nothing, signalling the missing franchise, branch or product.
+     */
+    protected <T> Mono<T> productNotFound(String franchiseId, String branchId, String productId) {
+        return franchiseRepositoryPort.findByIdWithBranch(franchiseId, branchId)
+                .flatMap(franchise -> {
+                    findProductOrThrow(findBranchOrThrow(franchise, branchId), productId);
+                    return Mono.<T>error(new ProductNotFoundException(productId));
+                });
     }
 
     protected void logSuccess(String operation) {
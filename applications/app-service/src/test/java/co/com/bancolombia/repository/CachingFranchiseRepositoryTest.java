@@ -0,0 +1,274 @@
+package co.com.bancolombia.repository;
+
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import co.com.bancolombia.model.gateway.StaleReads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingFranchiseRepositoryTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    @Mock
+    private FranchiseRepositoryPort delegate;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private CachingFranchiseRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        CoalescingFranchiseRepository loads = new CoalescingFranchiseRepository(delegate, meterRegistry);
+        repository = new CachingFranchiseRepository(loads, loads, 100, TTL, meterRegistry, nanos::get);
+    }
+
+    private static Franchise franchise() {
+        Branch branch1 = new Branch("branch1", "branch 1", new ArrayList<>(List.of(new Product("product1", "product 1", 5))));
+        Branch branch2 = new Branch("branch2", "branch 2", new ArrayList<>());
+        return new Franchise("franchise1", "franchise 1", new ArrayList<>(List.of(branch1, branch2)), 3L);
+    }
+
+    @Test
+    @DisplayName("Should load a franchise once and share it afterwards")
+    void shouldServeLoadedFranchiseFromCache() {
+        when(delegate.findById("franchise1")).thenReturn(Mono.just(franchise()));
+
+        Franchise first = repository.findById("franchise1").block();
+        Franchise second = repository.findById("franchise1").block();
+
+        assertSame(first, second);
+        verify(delegate, times(1)).findById("franchise1");
+        assertEquals(1.0, meterRegistry.get("franchise.cache.lookups").tag("view", "full").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("franchise.cache.lookups").tag("view", "full").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should derive single branch views from a cached franchise")
+    void shouldDeriveBranchViewFromCachedFranchise() {
+        when(delegate.findById("franchise1")).thenReturn(Mono.just(franchise()));
+        repository.findById("franchise1").block();
+
+        StepVerifier.create(repository.findByIdWithBranch("franchise1", "branch2"))
+                .expectNextMatches(view -> view.getBranches().size() == 1
+                        && "branch2".equals(view.getBranches().getFirst().getId())
+                        && view.getVersion() == 3L)
+                .verifyComplete();
+        StepVerifier.create(repository.findByIdWithBranch("franchise1", "missing"))
+                .expectNextMatches(view -> view.getBranches().isEmpty())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should cache single branch views per branch")
+    void shouldCacheBranchViews() {
+        Franchise view = new Franchise("franchise1", "franchise 1",
+                new ArrayList<>(List.of(new Branch("branch1", "branch 1", new ArrayList<>()))), 3L);
+        when(delegate.findByIdWithBranch("franchise1", "branch1")).thenReturn(Mono.just(view));
+
+        repository.findByIdWithBranch("franchise1", "branch1").block();
+        repository.findByIdWithBranch("franchise1", "branch1").block();
+
+        verify(delegate, times(1)).findByIdWithBranch("franchise1", "branch1");
+    }
+
+    @Test
+    @DisplayName("Should write saved franchises through to the cache")
+    void shouldWriteThroughOnSave() {
+        Franchise saved = franchise();
+        when(delegate.save(saved)).thenReturn(Mono.just(saved));
+
+        repository.save(saved).block();
+
+        StepVerifier.create(repository.findById("franchise1"))
+                .expectNextMatches(franchise -> franchise.getVersion() == 3L)
+                .verifyComplete();
+        verify(delegate, times(0)).findById("franchise1");
+    }
+
+    @Test
+    @DisplayName("Should drop the cached franchise when a versioned save conflicts")
+    void shouldInvalidateOnConflictingSave() {
+        Franchise stale = franchise();
+        when(delegate.findById("franchise1")).thenReturn(Mono.just(stale));
+        when(delegate.save(stale)).thenReturn(Mono.empty());
+        repository.findById("franchise1").block();
+
+        StepVerifier.create(repository.save(stale)).verifyComplete();
+        repository.findById("franchise1").block();
+
+        verify(delegate, times(2)).findById("franchise1");
+    }
+
+    @Test
+    @DisplayName("Should drop the cached franchise after a targeted write")
+    void shouldInvalidateAfterTargetedWrite() {
+        when(delegate.findById("franchise1")).thenReturn(Mono.just(franchise()));
+        when(delegate.incrementProductStock("franchise1", "branch1", "product1", 2))
+                .thenReturn(Mono.just(new Product("product1", "product 1", 7)));
+        repository.findById("franchise1").block();
+
+        repository.incrementProductStock("franchise1", "branch1", "product1", 2).block();
+        repository.findById("franchise1").block();
+
+        verify(delegate, times(2)).findById("franchise1");
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that raced with an invalidation")
+    void shouldNotCacheLoadRacingWithInvalidation() {
+        Sinks.One<Franchise> slowLoad = Sinks.one();
+        when(delegate.findById("franchise1")).thenReturn(slowLoad.asMono(), Mono.just(franchise()));
+
+        StepVerifier.create(repository.findById("franchise1"))
+                .then(() -> repository.invalidate("franchise1"))
+                .then(() -> slowLoad.tryEmitValue(franchise()))
+                .expectNextCount(1)
+                .verifyComplete();
+        repository.findById("franchise1").block();
+
+        verify(delegate, times(2)).findById("franchise1");
+    }
+
+    @Test
+    @DisplayName("Should not let a read after a write join a load that started before it")
+    void shouldNotJoinLoadStartedBeforeWrite() {
+        Sinks.One<Franchise> staleLoad = Sinks.one();
+        Franchise written = franchise();
+        written.setVersion(4L);
+        when(delegate.findById("franchise1")).thenReturn(staleLoad.asMono(), Mono.just(written));
+        when(delegate.incrementProductStock("franchise1", "branch1", "product1", 2))
+                .thenReturn(Mono.just(new Product("product1", "product 1", 7)));
+        List<Franchise> before = new ArrayList<>();
+        List<Franchise> after = new ArrayList<>();
+
+        repository.findById("franchise1").subscribe(before::add);
+        repository.incrementProductStock("franchise1", "branch1", "product1", 2).block();
+        repository.findById("franchise1").subscribe(after::add);
+        staleLoad.tryEmitValue(franchise());
+
+        assertEquals(3L, before.get(0).getVersion());
+        assertEquals(4L, after.get(0).getVersion());
+        assertEquals(4L, repository.findById("franchise1").block().getVersion());
+        verify(delegate, times(2)).findById("franchise1");
+    }
+
+    @Test
+    @DisplayName("Should not keep an empty entry for a load that was cancelled or found nothing")
+    void shouldDiscardEmptyEntries() {
+        Sinks.One<Franchise> slowLoad = Sinks.one();
+        when(delegate.findById("franchise1")).thenReturn(slowLoad.asMono());
+        when(delegate.findById("unknown")).thenReturn(Mono.empty());
+
+        repository.findById("franchise1").subscribe().dispose();
+        StepVerifier.create(repository.findById("unknown")).verifyComplete();
+
+        assertEquals(0.0, meterRegistry.get("franchise.cache.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should pass a stale copy on without caching it")
+    void shouldNotCacheStaleCopies() {
+        when(delegate.findById("franchise1")).thenReturn(
+                Mono.deferContextual(context -> {
+                    context.<StaleReads>get(StaleReads.class).markStale();
+                    return Mono.just(franchise());
+                }),
+                Mono.just(franchise()));
+
+        StepVerifier.create(repository.findById("franchise1").contextWrite(Context.of(StaleReads.class, new StaleReads())))
+                .expectNextCount(1)
+                .verifyComplete();
+        repository.findById("franchise1").block();
+
+        verify(delegate, times(2)).findById("franchise1");
+    }
+
+    @Test
+    @DisplayName("Should reload a franchise once its entry expires")
+    void shouldExpireEntries() {
+        when(delegate.findById("franchise1")).thenReturn(Mono.just(franchise()));
+        repository.findById("franchise1").block();
+
+        nanos.addAndGet(TTL.plusSeconds(1).toNanos());
+        repository.findById("franchise1").block();
+
+        verify(delegate, times(2)).findById("franchise1");
+    }
+
+    @Test
+    @DisplayName("Should serve max stock views from the cache until a product changes")
+    void shouldCacheMaxStockUntilProductChanges() {
+        Franchise maxStock = franchise();
+        when(delegate.findWithMaxStockProductPerBranch("franchise1")).thenReturn(Mono.just(maxStock));
+        when(delegate.removeProductFromBranch("franchise1", "branch1", "product1")).thenReturn(Mono.just(true));
+
+        repository.findWithMaxStockProductPerBranch("franchise1").block();
+        repository.findWithMaxStockProductPerBranch("franchise1").block();
+        repository.removeProductFromBranch("franchise1", "branch1", "product1").block();
+        repository.findWithMaxStockProductPerBranch("franchise1").block();
+
+        verify(delegate, times(2)).findWithMaxStockProductPerBranch("franchise1");
+        assertEquals(1.0, meterRegistry.get("franchise.cache.lookups").tag("view", "max-stock").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should derive the max stock view from a cached franchise")
+    void shouldDeriveMaxStockFromCachedFranchise() {
+        Franchise full = franchise();
+        full.getBranches().getFirst().getProducts().addAll(List.of(
+                new Product("product2", "product 2", 9), new Product("product3", "product 3", 9)));
+        when(delegate.findById("franchise1")).thenReturn(Mono.just(full));
+        repository.findById("franchise1").block();
+
+        StepVerifier.create(repository.findWithMaxStockProductPerBranch("franchise1"))
+                .expectNextMatches(view -> "product2".equals(view.getBranches().get(0).getProducts().getFirst().getId())
+                        && view.getBranches().get(0).getProducts().size() == 1
+                        && view.getBranches().get(1).getProducts().isEmpty())
+                .verifyComplete();
+        verify(delegate, times(0)).findWithMaxStockProductPerBranch("franchise1");
+    }
+
+    @Test
+    @DisplayName("Should read only the franchises missing from the cache in a batch")
+    void shouldReadOnlyMissingFranchisesInBatch() {
+        Franchise other = new Franchise("franchise2", "franchise 2", new ArrayList<>(), 1L);
+        when(delegate.findWithMaxStockProductPerBranch("franchise1")).thenReturn(Mono.just(franchise()));
+        when(delegate.findAllWithMaxStockProductPerBranch(List.of("franchise2", "unknown"))).thenReturn(Flux.just(other));
+        repository.findWithMaxStockProductPerBranch("franchise1").block();
+
+        StepVerifier.create(repository.findAllWithMaxStockProductPerBranch(List.of("franchise1", "franchise2", "unknown")))
+                .expectNextMatches(franchise -> "franchise1".equals(franchise.getId()))
+                .expectNextMatches(franchise -> "franchise2".equals(franchise.getId()))
+                .verifyComplete();
+        StepVerifier.create(repository.findWithMaxStockProductPerBranch("franchise2"))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(delegate, times(0)).findWithMaxStockProductPerBranch("franchise2");
+    }
+}
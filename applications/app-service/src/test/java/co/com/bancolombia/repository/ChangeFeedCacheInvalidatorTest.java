@@ -0,0 +1,97 @@
+package co.com.bancolombia.repository;
+
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.gateway.FranchiseChange;
+import co.com.bancolombia.model.gateway.FranchiseChangeFeed;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedCacheInvalidatorTest {
+
+    @Mock
+    private FranchiseRepositoryPort delegate;
+
+    @Mock
+    private FranchiseChangeFeed changeFeed;
+
+    private final Sinks.Many<FranchiseChange> changes = Sinks.many().unicast().onBackpressureBuffer();
+    private CachingFranchiseRepository franchiseCache;
+    private ChangeFeedCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CoalescingFranchiseRepository franchiseLoads = new CoalescingFranchiseRepository(delegate, meterRegistry);
+        NegativeCachingFranchiseRepository unknownFranchiseIds =
+                new NegativeCachingFranchiseRepository(franchiseLoads, 100, Duration.ofSeconds(30), meterRegistry);
+        franchiseCache = new CachingFranchiseRepository(unknownFranchiseIds, franchiseLoads, 100, Duration.ofMinutes(5),
+                meterRegistry);
+        invalidator = new ChangeFeedCacheInvalidator(changeFeed, franchiseCache, unknownFranchiseIds);
+        when(changeFeed.franchiseChanges()).thenReturn(changes.asFlux());
+    }
+
+    private static Franchise franchise(String id) {
+        return new Franchise(id, "franchise " + id, new ArrayList<>(), 1L);
+    }
+
+    @Test
+    @DisplayName("Should drop a franchise written by another instance")
+    void shouldInvalidateChangedFranchise() {
+        when(delegate.findById("franchise1")).thenReturn(Mono.just(franchise("franchise1")));
+        when(delegate.findById("franchise2")).thenReturn(Mono.just(franchise("franchise2")));
+        franchiseCache.findById("franchise1").block();
+        franchiseCache.findById("franchise2").block();
+
+        invalidator.start();
+        changes.tryEmitNext(FranchiseChange.of("franchise1"));
+        franchiseCache.findById("franchise1").block();
+        franchiseCache.findById("franchise2").block();
+
+        verify(delegate, times(2)).findById("franchise1");
+        verify(delegate, times(1)).findById("franchise2");
+    }
+
+    @Test
+    @DisplayName("Should drop every franchise when changes could not be followed")
+    void shouldInvalidateEverything() {
+        when(delegate.findById("franchise1")).thenReturn(Mono.just(franchise("franchise1")));
+        franchiseCache.findById("franchise1").block();
+
+        invalidator.start();
+        changes.tryEmitNext(FranchiseChange.everything());
+        franchiseCache.findById("franchise1").block();
+
+        verify(delegate, times(2)).findById("franchise1");
+    }
+
+    @Test
+    @DisplayName("Should stop following the feed on shutdown")
+    void shouldStopFollowingOnStop() {
+        invalidator.start();
+        assertTrue(invalidator.isRunning());
+
+        invalidator.stop();
+
+        assertFalse(invalidator.isRunning());
+        assertEquals(0, changes.currentSubscriberCount());
+    }
+}
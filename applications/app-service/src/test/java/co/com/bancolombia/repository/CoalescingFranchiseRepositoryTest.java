@@ -0,0 +1,127 @@
+package co.com.bancolombia.repository;
+
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.PublisherProbe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingFranchiseRepositoryTest {
+
+    @Mock
+    private FranchiseRepositoryPort delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CoalescingFranchiseRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new CoalescingFranchiseRepository(delegate, meterRegistry);
+    }
+
+    private static Franchise franchise() {
+        return new Franchise("franchise1", "franchise 1", new ArrayList<>(), 1L);
+    }
+
+    @Test
+    @DisplayName("Should share one in-flight load between concurrent readers")
+    void shouldShareInFlightLoad() {
+        Sinks.One<Franchise> load = Sinks.one();
+        PublisherProbe<Franchise> probe = PublisherProbe.of(load.asMono());
+        when(delegate.findById("franchise1")).thenReturn(probe.mono());
+        List<Franchise> results = new CopyOnWriteArrayList<>();
+
+        repository.findById("franchise1").subscribe(results::add);
+        repository.findById("franchise1").subscribe(results::add);
+        load.tryEmitValue(franchise());
+
+        assertEquals(2, results.size());
+        assertSame(results.get(0), results.get(1));
+        assertEquals(1, probe.subscribeCount());
+        assertEquals(1.0, meterRegistry.get("franchise.loads.coalesced").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should start a new load once the previous one completed")
+    void shouldNotReuseCompletedLoads() {
+        when(delegate.findByIdWithBranch("franchise1", "branch1")).thenReturn(Mono.just(franchise()));
+
+        repository.findByIdWithBranch("franchise1", "branch1").block();
+        repository.findByIdWithBranch("franchise1", "branch1").block();
+
+        verify(delegate, times(2)).findByIdWithBranch("franchise1", "branch1");
+    }
+
+    @Test
+    @DisplayName("Should start a new load for readers arriving after the franchise was invalidated")
+    void shouldNotJoinLoadsOfInvalidatedFranchise() {
+        Sinks.One<Franchise> staleLoad = Sinks.one();
+        when(delegate.findById("franchise1")).thenReturn(staleLoad.asMono(), Mono.just(franchise()));
+        List<Franchise> results = new CopyOnWriteArrayList<>();
+
+        repository.findById("franchise1").subscribe(results::add);
+        repository.invalidate("franchise1");
+        repository.findById("franchise1").subscribe(results::add);
+        staleLoad.tryEmitValue(franchise());
+
+        assertEquals(2, results.size());
+        verify(delegate, times(2)).findById("franchise1");
+    }
+
+    @Test
+    @DisplayName("Should keep loading while one reader is still waiting and cancel when all readers left")
+    void shouldCancelOnlyWhenEveryReaderCancelled() {
+        PublisherProbe<Franchise> probe = PublisherProbe.of(Mono.never());
+        when(delegate.findWithMaxStockProductPerBranch("franchise1")).thenReturn(probe.mono());
+
+        Disposable first = repository.findWithMaxStockProductPerBranch("franchise1").subscribe();
+        Disposable second = repository.findWithMaxStockProductPerBranch("franchise1").subscribe();
+        first.dispose();
+        probe.assertWasNotCancelled();
+        second.dispose();
+
+        probe.assertWasCancelled();
+        assertEquals(1, probe.subscribeCount());
+    }
+
+    @Test
+    @DisplayName("Should propagate a failed load to every reader")
+    void shouldPropagateErrorsToEveryReader() {
+        Sinks.One<Franchise> load = Sinks.one();
+        when(delegate.findById("franchise1")).thenReturn(load.asMono());
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+        repository.findById("franchise1").subscribe(value -> { }, errors::add);
+        repository.findById("franchise1").subscribe(value -> { }, errors::add);
+        load.tryEmitError(new IllegalArgumentException("Franchise with id <franchise1> not found!"));
+
+        assertEquals(2, errors.size());
+        assertTrue(errors.stream().allMatch(IllegalArgumentException.class::isInstance));
+        StepVerifier.create(repository.findById("franchise1"))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verify(delegate, times(2)).findById("franchise1");
+    }
+}
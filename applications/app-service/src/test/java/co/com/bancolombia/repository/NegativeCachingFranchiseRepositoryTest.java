@@ -0,0 +1,122 @@
+package co.com.bancolombia.repository;
+
+import co.com.bancolombia.model.BulkItemResult;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import co.com.bancolombia.model.gateway.UnknownFranchiseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NegativeCachingFranchiseRepositoryTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    @Mock
+    private FranchiseRepositoryPort delegate;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private NegativeCachingFranchiseRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new NegativeCachingFranchiseRepository(delegate, 100, TTL, meterRegistry, nanos::get);
+    }
+
+    @Test
+    @DisplayName("Should answer repeated reads of an unknown id without querying again")
+    void shouldRememberUnknownIds() {
+        when(delegate.findById("unknown")).thenReturn(Mono.error(new UnknownFranchiseException("unknown")));
+
+        StepVerifier.create(repository.findById("unknown"))
+                .expectError(UnknownFranchiseException.class)
+                .verify();
+        StepVerifier.create(repository.findWithMaxStockProductPerBranch("unknown"))
+                .expectErrorMatches(error -> error instanceof IllegalArgumentException
+                        && "Franchise with id <unknown> not found!".equals(error.getMessage()))
+                .verify();
+
+        verify(delegate, times(1)).findById("unknown");
+        assertEquals(1.0, meterRegistry.get("franchise.cache.lookups").tag("view", "unknown").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not remember ids of reads failing for other reasons")
+    void shouldNotRememberOtherErrors() {
+        when(delegate.findById("franchise1")).thenReturn(Mono.error(new IllegalStateException("timeout")));
+
+        StepVerifier.create(repository.findById("franchise1")).expectError(IllegalStateException.class).verify();
+        StepVerifier.create(repository.findById("franchise1")).expectError(IllegalStateException.class).verify();
+
+        verify(delegate, times(2)).findById("franchise1");
+    }
+
+    @Test
+    @DisplayName("Should query an unknown id again once its entry expires")
+    void shouldExpireUnknownIds() {
+        when(delegate.findById("unknown")).thenReturn(Mono.error(new UnknownFranchiseException("unknown")));
+        StepVerifier.create(repository.findById("unknown")).expectError().verify();
+
+        nanos.addAndGet(TTL.plusSeconds(1).toNanos());
+        StepVerifier.create(repository.findById("unknown")).expectError().verify();
+
+        verify(delegate, times(2)).findById("unknown");
+    }
+
+    @Test
+    @DisplayName("Should forget an unknown id when a franchise is stored under it")
+    void shouldForgetStoredIds() {
+        Franchise franchise = new Franchise("franchise1", "franchise 1", new ArrayList<>(), 0L);
+        when(delegate.findById("franchise1"))
+                .thenReturn(Mono.error(new UnknownFranchiseException("franchise1")), Mono.just(franchise));
+        when(delegate.insertAll(List.of(franchise))).thenReturn(Flux.just(BulkItemResult.created(franchise)));
+        StepVerifier.create(repository.findById("franchise1")).expectError().verify();
+
+        repository.insertAll(List.of(franchise)).blockLast();
+
+        StepVerifier.create(repository.findById("franchise1"))
+                .expectNext(franchise)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should leave known unknown ids out of batch reads and remember the ones not found")
+    void shouldSkipUnknownIdsInBatch() {
+        Franchise franchise = new Franchise("franchise1", "franchise 1", new ArrayList<>(), 0L);
+        when(delegate.findAllWithMaxStockProductPerBranch(List.of("franchise1", "unknown")))
+                .thenReturn(Flux.just(franchise));
+        when(delegate.findAllWithMaxStockProductPerBranch(List.of("franchise1")))
+                .thenReturn(Flux.just(franchise));
+
+        StepVerifier.create(repository.findAllWithMaxStockProductPerBranch(List.of("franchise1", "unknown")))
+                .expectNext(franchise)
+                .verifyComplete();
+        StepVerifier.create(repository.findAllWithMaxStockProductPerBranch(List.of("franchise1", "unknown")))
+                .expectNext(franchise)
+                .verifyComplete();
+        StepVerifier.create(repository.findAllWithMaxStockProductPerBranch(List.of("unknown")))
+                .verifyComplete();
+
+        verify(delegate, times(1)).findAllWithMaxStockProductPerBranch(List.of("franchise1"));
+    }
+}
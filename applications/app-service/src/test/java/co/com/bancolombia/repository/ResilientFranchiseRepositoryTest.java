@@ -0,0 +1,216 @@
+package co.com.bancolombia.repository;
+
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.PageResult;
+import co.com.bancolombia.model.gateway.DuplicateFranchiseException;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import co.com.bancolombia.model.gateway.FranchiseStoreUnavailableException;
+import co.com.bancolombia.model.gateway.StaleReads;
+import co.com.bancolombia.model.gateway.UnknownFranchiseException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientFranchiseRepositoryTest {
+
+    private static final Duration READ_TIMEOUT = Duration.ofMillis(200);
+
+    @Mock
+    private FranchiseRepositoryPort delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreaker circuitBreaker;
+    private ResilientFranchiseRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(100)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordException(ResilientFranchiseRepository::isInfrastructureFailure)
+                .build());
+        repository = new ResilientFranchiseRepository(delegate, circuitBreaker, READ_TIMEOUT, 100,
+                Duration.ofHours(1), meterRegistry);
+    }
+
+    private static FranchiseStoreUnavailableException unavailable() {
+        return new FranchiseStoreUnavailableException(new IllegalStateException("connection refused"));
+    }
+
+    private static Franchise franchise(long version) {
+        return new Franchise("franchise1", "franchise 1", new ArrayList<>(), version);
+    }
+
+    @Test
+    @DisplayName("Should serve the last known good franchise flagged as stale when the database fails")
+    void shouldServeStaleCopyToCallersThatOptIn() {
+        when(delegate.findById("franchise1"))
+                .thenReturn(Mono.just(franchise(1)), Mono.error(unavailable()));
+        repository.findById("franchise1").block();
+        StaleReads staleReads = new StaleReads();
+
+        StepVerifier.create(repository.findById("franchise1").contextWrite(Context.of(StaleReads.class, staleReads)))
+                .expectNextMatches(franchise -> franchise.getVersion() == 1L)
+                .verifyComplete();
+
+        assertTrue(staleReads.isStale());
+        assertEquals(1.0, meterRegistry.get("franchise.reads.stale").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should serve the last known good page of the same request when the database fails")
+    void shouldServeStalePages() {
+        PageResult<Branch> page = PageResult.of(List.of(new Branch("branch1", "branch 1", List.of())), null);
+        when(delegate.findBranchPage("franchise1", 0, 20))
+                .thenReturn(Mono.just(page), Mono.error(unavailable()));
+        when(delegate.findBranchPage("franchise1", 20, 20))
+                .thenReturn(Mono.error(unavailable()));
+        repository.findBranchPage("franchise1", 0, 20).block();
+        StaleReads staleReads = new StaleReads();
+
+        StepVerifier.create(repository.findBranchPage("franchise1", 0, 20)
+                        .contextWrite(Context.of(StaleReads.class, staleReads)))
+                .expectNext(page)
+                .verifyComplete();
+        StepVerifier.create(repository.findBranchPage("franchise1", 20, 20)
+                        .contextWrite(Context.of(StaleReads.class, new StaleReads())))
+                .expectError(FranchiseStoreUnavailableException.class)
+                .verify();
+
+        assertTrue(staleReads.isStale());
+    }
+
+    @Test
+    @DisplayName("Should fail reads of callers that did not opt in to stale data")
+    void shouldFailReadsWithoutOptIn() {
+        when(delegate.findById("franchise1"))
+                .thenReturn(Mono.just(franchise(1)), Mono.error(unavailable()));
+        repository.findById("franchise1").block();
+
+        StepVerifier.create(repository.findById("franchise1"))
+                .expectError(FranchiseStoreUnavailableException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should time out slow reads and fall back to the stale copy")
+    void shouldTimeOutSlowReads() {
+        when(delegate.findWithMaxStockProductPerBranch("franchise1"))
+                .thenReturn(Mono.just(franchise(1)), Mono.never());
+        repository.findWithMaxStockProductPerBranch("franchise1").block();
+        StaleReads staleReads = new StaleReads();
+
+        StepVerifier.create(repository.findWithMaxStockProductPerBranch("franchise1")
+                        .contextWrite(Context.of(StaleReads.class, staleReads)))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertTrue(staleReads.isStale());
+    }
+
+    @Test
+    @DisplayName("Should reject calls without reaching the database once the circuit opens")
+    void shouldOpenCircuitAfterFailures() {
+        when(delegate.findById("franchise1")).thenReturn(Mono.error(unavailable()));
+
+        StepVerifier.create(repository.findById("franchise1")).expectError(FranchiseStoreUnavailableException.class).verify();
+        StepVerifier.create(repository.findById("franchise1")).expectError(FranchiseStoreUnavailableException.class).verify();
+        StepVerifier.create(repository.findById("franchise1")).expectError(CallNotPermittedException.class).verify();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        verify(delegate, times(2)).findById("franchise1");
+    }
+
+    @Test
+    @DisplayName("Should neither count nor cover up unknown franchises")
+    void shouldPassUnknownFranchisesThrough() {
+        when(delegate.findById("franchise1"))
+                .thenReturn(Mono.just(franchise(1)), Mono.error(new UnknownFranchiseException("franchise1")));
+        repository.findById("franchise1").block();
+        StaleReads staleReads = new StaleReads();
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            StepVerifier.create(repository.findById("franchise1").contextWrite(Context.of(StaleReads.class, staleReads)))
+                    .expectError(UnknownFranchiseException.class)
+                    .verify();
+        }
+
+        assertFalse(staleReads.isStale());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should not count rejected writes as database failures")
+    void shouldNotCountRejectedWrites() {
+        when(delegate.renameFranchise("franchise1", "taken")).thenReturn(Mono.error(new DuplicateFranchiseException("taken")));
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            StepVerifier.create(repository.renameFranchise("franchise1", "taken"))
+                    .expectError(DuplicateFranchiseException.class)
+                    .verify();
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should serve the stale copy while the circuit is open")
+    void shouldServeStaleCopyWhileCircuitIsOpen() {
+        when(delegate.findById("franchise1")).thenReturn(Mono.just(franchise(1)));
+        repository.findById("franchise1").block();
+        circuitBreaker.transitionToOpenState();
+        StaleReads staleReads = new StaleReads();
+
+        StepVerifier.create(repository.findById("franchise1").contextWrite(Context.of(StaleReads.class, staleReads)))
+                .expectNextMatches(franchise -> franchise.getVersion() == 1L)
+                .verifyComplete();
+
+        assertTrue(staleReads.isStale());
+        verify(delegate, times(1)).findById("franchise1");
+    }
+
+    @Test
+    @DisplayName("Should refresh the stale copy in the background once the database answers again")
+    void shouldRevalidateInBackground() {
+        when(delegate.findById("franchise1")).thenReturn(
+                Mono.just(franchise(1)),
+                Mono.error(unavailable()),
+                Mono.just(franchise(2)),
+                Mono.error(unavailable()));
+        repository.findById("franchise1").block();
+
+        StepVerifier.create(repository.findById("franchise1").contextWrite(Context.of(StaleReads.class, new StaleReads())))
+                .expectNextMatches(franchise -> franchise.getVersion() == 1L)
+                .verifyComplete();
+        StepVerifier.create(repository.findById("franchise1").contextWrite(Context.of(StaleReads.class, new StaleReads())))
+                .expectNextMatches(franchise -> franchise.getVersion() == 2L)
+                .verifyComplete();
+    }
+}
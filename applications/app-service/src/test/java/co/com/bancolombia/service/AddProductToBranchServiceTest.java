@@ -18,8 +18,11 @@ import reactor.test.StepVerifier;
 import java.util.ArrayList;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,25 +33,31 @@ class AddProductToBranchServiceTest {
 
     private AddProductToBranchService service;
     private Franchise franchise;
-    private Branch branch;
-    private Product existingProduct;
 
     @BeforeEach
     void setUp() {
         service = new AddProductToBranchService(franchiseRepositoryPort);
         
-        existingProduct = new Product("product1", "existing product", 10);
-        branch = new Branch("branch1", "branch 1", new ArrayList<>(List.of(existingProduct)));
+        Product existingProduct = new Product("product1", "existing product", 10);
+        Branch branch = new Branch("branch1", "branch 1", new ArrayList<>(List.of(existingProduct)));
         franchise = new Franchise("franchise1", "franchise 1", List.of(branch));
     }
 
+    private void stubSuccessfulPush(String branchId) {
+        when(franchiseRepositoryPort.addProductToBranch(eq("franchise1"), eq(branchId), any(Product.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(2)));
+    }
+
+    private void stubRejectedPush(String franchiseId, String branchId) {
+        when(franchiseRepositoryPort.addProductToBranch(eq(franchiseId), eq(branchId), any(Product.class)))
+                .thenReturn(Mono.empty());
+    }
+
     @Test
-    @DisplayName("Should add product to branch successfully")
+    @DisplayName("Should add product to branch in a single write without reading the franchise")
     void shouldAddProductToBranchSuccessfully() {
         Product newProduct = new Product(null, "new product", 15);
-        
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class))).thenReturn(Mono.just(franchise));
+        stubSuccessfulPush("branch1");
 
         Mono<Product> result = service.addProductToBranch("franchise1", "branch1", newProduct);
 
@@ -59,17 +68,16 @@ class AddProductToBranchServiceTest {
                         product.getStock() == 15
                 )
                 .verifyComplete();
-        
-        assertEquals(2, branch.getProducts().size());
+
+        verify(franchiseRepositoryPort, never()).findByIdWithBranch(anyString(), anyString());
+        verify(franchiseRepositoryPort, never()).save(any(Franchise.class));
     }
 
     @Test
     @DisplayName("Should add product with zero stock")
     void shouldAddProductWithZeroStock() {
         Product newProduct = new Product(null, "zero stock product", 0);
-        
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class))).thenReturn(Mono.just(franchise));
+        stubSuccessfulPush("branch1");
 
         Mono<Product> result = service.addProductToBranch("franchise1", "branch1", newProduct);
 
@@ -83,48 +91,47 @@ class AddProductToBranchServiceTest {
     }
 
     @Test
-    @DisplayName("Should add product to empty branch")
-    void shouldAddProductToEmptyBranch() {
-        Branch emptyBranch = new Branch("branch2", "empty branch", new ArrayList<>());
-        Franchise franchiseWithEmptyBranch = new Franchise("franchise1", "franchise 1", List.of(emptyBranch));
-        Product newProduct = new Product(null, "first product", 5);
-        
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchiseWithEmptyBranch));
-        when(franchiseRepositoryPort.save(any(Franchise.class))).thenReturn(Mono.just(franchiseWithEmptyBranch));
+    @DisplayName("Should add product with null stock")
+    void shouldAddProductWithNullStock() {
+        Product newProduct = new Product(null, "null stock product", null);
+        stubSuccessfulPush("branch1");
 
-        Mono<Product> result = service.addProductToBranch("franchise1", "branch2", newProduct);
+        Mono<Product> result = service.addProductToBranch("franchise1", "branch1", newProduct);
 
         StepVerifier.create(result)
                 .expectNextMatches(product -> 
                         product.getId() != null &&
-                        "first product".equals(product.getName()) &&
-                        product.getStock() == 5
+                        "null stock product".equals(product.getName()) &&
+                        product.getStock() == null
                 )
                 .verifyComplete();
-        
-        assertEquals(1, emptyBranch.getProducts().size());
     }
 
     @Test
-    @DisplayName("Should throw BranchNotFoundException when branch does not exist")
-    void shouldThrowBranchNotFoundExceptionWhenBranchDoesNotExist() {
-        Product newProduct = new Product(null, "new product", 15);
-        
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
+    @DisplayName("Should generate unique ID for new product")
+    void shouldGenerateUniqueIdForNewProduct() {
+        Product newProduct1 = new Product(null, "product 1", 10);
+        Product newProduct2 = new Product(null, "product 2", 20);
+        stubSuccessfulPush("branch1");
 
-        Mono<Product> result = service.addProductToBranch("franchise1", "nonexistent", newProduct);
+        StepVerifier.create(service.addProductToBranch("franchise1", "branch1", newProduct1))
+                .expectNextMatches(product -> product.getId() != null)
+                .verifyComplete();
 
-        StepVerifier.create(result)
-                .expectError(BranchNotFoundException.class)
-                .verify();
+        StepVerifier.create(service.addProductToBranch("franchise1", "branch1", newProduct2))
+                .expectNextMatches(product -> 
+                        product.getId() != null && 
+                        !product.getId().equals(newProduct1.getId())
+                )
+                .verifyComplete();
     }
 
     @Test
-    @DisplayName("Should throw DuplicateProductException when product name already exists")
+    @DisplayName("Should throw DuplicateProductException when the conditional push finds the name taken")
     void shouldThrowDuplicateProductExceptionWhenProductNameAlreadyExists() {
         Product duplicateProduct = new Product(null, "existing product", 20);
-        
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
+        stubRejectedPush("franchise1", "branch1");
+        when(franchiseRepositoryPort.findByIdWithBranch("franchise1", "branch1")).thenReturn(Mono.just(franchise));
 
         Mono<Product> result = service.addProductToBranch("franchise1", "branch1", duplicateProduct);
 
@@ -134,90 +141,46 @@ class AddProductToBranchServiceTest {
     }
 
     @Test
-    @DisplayName("Should handle franchise repository error")
-    void shouldHandleFranchiseRepositoryError() {
-        Product newProduct = new Product(null, "new product", 15);
-        
-        when(franchiseRepositoryPort.findById("franchise1"))
-                .thenReturn(Mono.error(new RuntimeException("Database error")));
-
-        Mono<Product> result = service.addProductToBranch("franchise1", "branch1", newProduct);
-
-        StepVerifier.create(result)
-                .expectError(RuntimeException.class)
-                .verify();
-    }
-
-    @Test
-    @DisplayName("Should handle save error")
-    void shouldHandleSaveError() {
+    @DisplayName("Should throw BranchNotFoundException when the conditional push matches no branch")
+    void shouldThrowBranchNotFoundExceptionWhenBranchDoesNotExist() {
         Product newProduct = new Product(null, "new product", 15);
-        
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class)))
-                .thenReturn(Mono.error(new RuntimeException("Save error")));
+        stubRejectedPush("franchise1", "nonexistent");
+        when(franchiseRepositoryPort.findByIdWithBranch("franchise1", "nonexistent"))
+                .thenReturn(Mono.just(new Franchise("franchise1", "franchise 1", new ArrayList<>())));
 
-        Mono<Product> result = service.addProductToBranch("franchise1", "branch1", newProduct);
+        Mono<Product> result = service.addProductToBranch("franchise1", "nonexistent", newProduct);
 
         StepVerifier.create(result)
-                .expectError(RuntimeException.class)
+                .expectError(BranchNotFoundException.class)
                 .verify();
     }
 
     @Test
-    @DisplayName("Should handle franchise not found")
+    @DisplayName("Should propagate franchise not found when the conditional push matches nothing")
     void shouldHandleFranchiseNotFound() {
         Product newProduct = new Product(null, "new product", 15);
-        
-        when(franchiseRepositoryPort.findById("nonexistent"))
-                .thenReturn(Mono.empty());
+        stubRejectedPush("nonexistent", "branch1");
+        when(franchiseRepositoryPort.findByIdWithBranch("nonexistent", "branch1"))
+                .thenReturn(Mono.error(new IllegalArgumentException("Franchise with id <nonexistent> not found!")));
 
         Mono<Product> result = service.addProductToBranch("nonexistent", "branch1", newProduct);
 
         StepVerifier.create(result)
-                .verifyComplete();
-    }
-
-    @Test
-    @DisplayName("Should generate unique ID for new product")
-    void shouldGenerateUniqueIdForNewProduct() {
-        Product newProduct1 = new Product(null, "product 1", 10);
-        Product newProduct2 = new Product(null, "product 2", 20);
-        
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class))).thenReturn(Mono.just(franchise));
-
-        Mono<Product> result1 = service.addProductToBranch("franchise1", "branch1", newProduct1);
-        Mono<Product> result2 = service.addProductToBranch("franchise1", "branch1", newProduct2);
-
-        StepVerifier.create(result1)
-                .expectNextMatches(product -> product.getId() != null)
-                .verifyComplete();
-
-        StepVerifier.create(result2)
-                .expectNextMatches(product -> 
-                        product.getId() != null && 
-                        !product.getId().equals(newProduct1.getId())
-                )
-                .verifyComplete();
+                .expectError(IllegalArgumentException.class)
+                .verify();
     }
 
     @Test
-    @DisplayName("Should add product with null stock")
-    void shouldAddProductWithNullStock() {
-        Product newProduct = new Product(null, "null stock product", null);
-        
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class))).thenReturn(Mono.just(franchise));
+    @DisplayName("Should handle write error")
+    void shouldHandleSaveError() {
+        Product newProduct = new Product(null, "new product", 15);
+        when(franchiseRepositoryPort.addProductToBranch(eq("franchise1"), eq("branch1"), any(Product.class)))
+                .thenReturn(Mono.error(new RuntimeException("Save error")));
 
         Mono<Product> result = service.addProductToBranch("franchise1", "branch1", newProduct);
 
         StepVerifier.create(result)
-                .expectNextMatches(product -> 
-                        product.getId() != null &&
-                        "null stock product".equals(product.getName()) &&
-                        product.getStock() == null
-                )
-                .verifyComplete();
+                .expectError(RuntimeException.class)
+                .verify();
     }
-}
\ No newline at end of file
+}
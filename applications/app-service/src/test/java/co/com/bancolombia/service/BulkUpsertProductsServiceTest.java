@@ -0,0 +1,184 @@
+package co.com.bancolombia.service;
+
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.BulkItemResult;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import co.com.bancolombia.usecase.exceptions.BranchNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkUpsertProductsServiceTest {
+
+    @Mock
+    private FranchiseRepositoryPort franchiseRepositoryPort;
+
+    @Captor
+    private ArgumentCaptor<List<Product>> updatedCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<Product>> createdCaptor;
+
+    private BulkUpsertProductsService service;
+    private Franchise franchise;
+
+    @BeforeEach
+    void setUp() {
+        service = new BulkUpsertProductsService(franchiseRepositoryPort);
+
+        Branch branch = new Branch("branch1", "branch 1", new ArrayList<>(List.of(
+                new Product("product1", "product 1", 10),
+                new Product("product2", "product 2", 20))));
+        franchise = new Franchise("franchise1", "franchise 1", List.of(branch), 3L);
+    }
+
+    @Test
+    @DisplayName("Should create new products and update existing ones in a single bulk write")
+    void shouldCreateAndUpdateInSingleWrite() {
+        when(franchiseRepositoryPort.findByIdWithBranch("franchise1", "branch1")).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.upsertBranchProducts(eq("franchise1"), eq("branch1"), updatedCaptor.capture(),
+                createdCaptor.capture()))
+                .thenReturn(Mono.just(true));
+
+        List<Product> batch = List.of(
+                new Product(null, "product 3", 30),
+                new Product(null, "product 1", 15),
+                new Product("product2", "renamed product", 25));
+
+        StepVerifier.create(service.upsertProducts("franchise1", "branch1", batch))
+                .expectNextMatches(result -> result.getStatus() == BulkItemResult.Status.CREATED
+                        && result.getItem().getId() != null && result.getItem().getStock() == 30)
+                .expectNextMatches(result -> result.getStatus() == BulkItemResult.Status.UPDATED
+                        && "product1".equals(result.getItem().getId()) && result.getItem().getStock() == 15)
+                .expectNextMatches(result -> result.getStatus() == BulkItemResult.Status.UPDATED
+                        && "renamed product".equals(result.getItem().getName()))
+                .verifyComplete();
+
+        List<Product> updated = updatedCaptor.getValue();
+        assertEquals(List.of("product1", "product2"), updated.stream().map(Product::getId).toList());
+        assertEquals("renamed product", updated.get(1).getName());
+        assertEquals(List.of("product 3"), createdCaptor.getValue().stream().map(Product::getName).toList());
+        Branch read = franchise.getBranches().getFirst();
+        assertEquals(10, read.getProducts().getFirst().getStock());
+        assertEquals("product 2", read.getProducts().get(1).getName());
+    }
+
+    @Test
+    @DisplayName("Should report invalid items as failed and still write the valid ones")
+    void shouldReportInvalidItemsAsFailed() {
+        when(franchiseRepositoryPort.findByIdWithBranch("franchise1", "branch1")).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.upsertBranchProducts(eq("franchise1"), eq("branch1"), updatedCaptor.capture(),
+                createdCaptor.capture()))
+                .thenReturn(Mono.just(true));
+
+        List<Product> batch = List.of(
+                new Product(null, " ", 1),
+                new Product(null, "product 4", -1),
+                new Product(null, "product 5", 5),
+                new Product(null, "product 5", 6),
+                new Product("missing", "product 6", 1),
+                new Product("product1", "product 2", 1));
+
+        StepVerifier.create(service.upsertProducts("franchise1", "branch1", batch))
+                .expectNextMatches(result -> result.isFailed() && "Product name is required".equals(result.getError()))
+                .expectNextMatches(BulkItemResult::isFailed)
+                .expectNextMatches(result -> result.getStatus() == BulkItemResult.Status.CREATED)
+                .expectNextMatches(result -> result.isFailed() && result.getError().contains("repeated"))
+                .expectNextMatches(result -> result.isFailed() && result.getError().contains("missing"))
+                .expectNextMatches(result -> result.isFailed() && result.getError().contains("already exists"))
+                .verifyComplete();
+
+        assertTrue(updatedCaptor.getValue().isEmpty());
+        assertEquals(1, createdCaptor.getValue().size());
+    }
+
+    @Test
+    @DisplayName("Should keep each result as it was recorded when a later item targets the same product")
+    void shouldKeepEarlierResultsUnchanged() {
+        when(franchiseRepositoryPort.findByIdWithBranch("franchise1", "branch1")).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.upsertBranchProducts(eq("franchise1"), eq("branch1"), updatedCaptor.capture(), anyList()))
+                .thenReturn(Mono.just(true));
+
+        List<Product> batch = List.of(
+                new Product(null, "product 1", 15),
+                new Product("product1", "renamed product", 40));
+
+        StepVerifier.create(service.upsertProducts("franchise1", "branch1", batch))
+                .expectNextMatches(result -> result.getStatus() == BulkItemResult.Status.UPDATED
+                        && "product 1".equals(result.getItem().getName()) && result.getItem().getStock() == 15)
+                .expectNextMatches(result -> result.isFailed() && result.getError().contains("repeated"))
+                .verifyComplete();
+
+        assertEquals(1, updatedCaptor.getValue().size());
+    }
+
+    @Test
+    @DisplayName("Should skip the write when every item failed")
+    void shouldSkipWriteWhenEveryItemFailed() {
+        when(franchiseRepositoryPort.findByIdWithBranch("franchise1", "branch1")).thenReturn(Mono.just(franchise));
+
+        StepVerifier.create(service.upsertProducts("franchise1", "branch1", List.of(new Product(null, null, 1))))
+                .expectNextMatches(BulkItemResult::isFailed)
+                .verifyComplete();
+
+        verify(franchiseRepositoryPort, never()).upsertBranchProducts(anyString(), anyString(), anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should read the branch again and fail the items whose write did not apply")
+    void shouldFailItemsWhoseWriteDidNotApply() {
+        Branch changed = new Branch("branch1", "branch 1", new ArrayList<>(List.of(
+                new Product("product2", "product 2", 1),
+                new Product("product3", "product 3", 3))));
+        when(franchiseRepositoryPort.findByIdWithBranch("franchise1", "branch1"))
+                .thenReturn(Mono.just(franchise), Mono.just(new Franchise("franchise1", "franchise 1", List.of(changed), 4L)));
+        when(franchiseRepositoryPort.upsertBranchProducts(eq("franchise1"), eq("branch1"), anyList(), anyList()))
+                .thenReturn(Mono.just(false));
+
+        List<Product> batch = List.of(
+                new Product("product1", "product 1", 5),
+                new Product(null, "product 3", 30),
+                new Product("product2", "product 2", 1));
+
+        StepVerifier.create(service.upsertProducts("franchise1", "branch1", batch))
+                .expectNextMatches(result -> result.isFailed() && result.getError().contains("product1"))
+                .expectNextMatches(result -> result.isFailed() && result.getError().contains("already exists"))
+                .expectNextMatches(result -> result.getStatus() == BulkItemResult.Status.UPDATED)
+                .verifyComplete();
+
+        verify(franchiseRepositoryPort, times(2)).findByIdWithBranch("franchise1", "branch1");
+    }
+
+    @Test
+    @DisplayName("Should throw BranchNotFoundException when branch does not exist")
+    void shouldThrowBranchNotFoundException() {
+        when(franchiseRepositoryPort.findByIdWithBranch("franchise1", "nonexistent"))
+                .thenReturn(Mono.just(new Franchise("franchise1", "franchise 1", new ArrayList<>())));
+
+        StepVerifier.create(service.upsertProducts("franchise1", "nonexistent", List.of(new Product(null, "product 3", 3))))
+                .expectError(BranchNotFoundException.class)
+                .verify();
+    }
+}
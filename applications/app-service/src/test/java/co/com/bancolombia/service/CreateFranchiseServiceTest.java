@@ -3,8 +3,8 @@ package co.com.bancolombia.service;
 import co.com.bancolombia.model.Branch;
 import co.com.bancolombia.model.Franchise;
 import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.DuplicateFranchiseException;
 import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
-import co.com.bancolombia.usecase.exceptions.DuplicateFranchiseException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
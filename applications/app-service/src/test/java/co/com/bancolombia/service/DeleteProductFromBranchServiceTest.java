@@ -18,8 +18,11 @@ import reactor.test.StepVerifier;
 import java.util.ArrayList;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,16 +55,17 @@ class DeleteProductFromBranchServiceTest {
     @Test
     @DisplayName("Should delete product from branch successfully")
     void shouldDeleteProductFromBranchSuccessfully() {
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class))).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.findByIdWithBranch(eq("franchise1"), anyString())).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.removeProductFromBranch("franchise1", "branch1", "product1"))
+                .thenReturn(Mono.just(true));
 
         Mono<Void> result = service.deleteProductFromBranch("franchise1", "branch1", "product1");
 
         StepVerifier.create(result)
                 .verifyComplete();
-        
-        assertEquals(1, branch.getProducts().size());
-        assertEquals("product2", branch.getProducts().get(0).getId());
+
+        verify(franchiseRepositoryPort).removeProductFromBranch("franchise1", "branch1", "product1");
+        verify(franchiseRepositoryPort, never()).save(any(Franchise.class));
     }
 
     @Test
@@ -71,21 +75,22 @@ class DeleteProductFromBranchServiceTest {
         Branch singleProductBranch = new Branch("branch1", "branch 1", new ArrayList<>(List.of(singleProduct)));
         Franchise singleProductFranchise = new Franchise("franchise1", "franchise 1", List.of(singleProductBranch));
         
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(singleProductFranchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class))).thenReturn(Mono.just(singleProductFranchise));
+        when(franchiseRepositoryPort.findByIdWithBranch(eq("franchise1"), anyString())).thenReturn(Mono.just(singleProductFranchise));
+        when(franchiseRepositoryPort.removeProductFromBranch("franchise1", "branch1", "product1"))
+                .thenReturn(Mono.just(true));
 
         Mono<Void> result = service.deleteProductFromBranch("franchise1", "branch1", "product1");
 
         StepVerifier.create(result)
                 .verifyComplete();
-        
-        assertEquals(0, singleProductBranch.getProducts().size());
+
+        verify(franchiseRepositoryPort).removeProductFromBranch("franchise1", "branch1", "product1");
     }
 
     @Test
     @DisplayName("Should throw BranchNotFoundException when branch does not exist")
     void shouldThrowBranchNotFoundExceptionWhenBranchDoesNotExist() {
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.findByIdWithBranch(eq("franchise1"), anyString())).thenReturn(Mono.just(franchise));
 
         Mono<Void> result = service.deleteProductFromBranch("franchise1", "nonexistent", "product1");
 
@@ -97,7 +102,7 @@ class DeleteProductFromBranchServiceTest {
     @Test
     @DisplayName("Should throw ProductNotFoundException when product does not exist")
     void shouldThrowProductNotFoundExceptionWhenProductDoesNotExist() {
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.findByIdWithBranch(eq("franchise1"), anyString())).thenReturn(Mono.just(franchise));
 
         Mono<Void> result = service.deleteProductFromBranch("franchise1", "branch1", "nonexistent");
 
@@ -109,7 +114,7 @@ class DeleteProductFromBranchServiceTest {
     @Test
     @DisplayName("Should handle franchise repository error")
     void shouldHandleFranchiseRepositoryError() {
-        when(franchiseRepositoryPort.findById("franchise1"))
+        when(franchiseRepositoryPort.findByIdWithBranch(eq("franchise1"), anyString()))
                 .thenReturn(Mono.error(new RuntimeException("Database error")));
 
         Mono<Void> result = service.deleteProductFromBranch("franchise1", "branch1", "product1");
@@ -122,8 +127,8 @@ class DeleteProductFromBranchServiceTest {
     @Test
     @DisplayName("Should handle save error")
     void shouldHandleSaveError() {
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class)))
+        when(franchiseRepositoryPort.findByIdWithBranch(eq("franchise1"), anyString())).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.removeProductFromBranch("franchise1", "branch1", "product1"))
                 .thenReturn(Mono.error(new RuntimeException("Save error")));
 
         Mono<Void> result = service.deleteProductFromBranch("franchise1", "branch1", "product1");
@@ -136,7 +141,7 @@ class DeleteProductFromBranchServiceTest {
     @Test
     @DisplayName("Should handle franchise not found error")
     void shouldHandleFranchiseNotFoundError() {
-        when(franchiseRepositoryPort.findById("nonexistent"))
+        when(franchiseRepositoryPort.findByIdWithBranch(eq("nonexistent"), anyString()))
                 .thenReturn(Mono.empty());
 
         Mono<Void> result = service.deleteProductFromBranch("nonexistent", "branch1", "product1");
@@ -151,16 +156,30 @@ class DeleteProductFromBranchServiceTest {
         Product product3 = new Product("product3", "product 3", 30);
         branch.getProducts().add(product3);
         
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class))).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.findByIdWithBranch(eq("franchise1"), anyString())).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.removeProductFromBranch("franchise1", "branch1", "product2"))
+                .thenReturn(Mono.just(true));
 
         Mono<Void> result = service.deleteProductFromBranch("franchise1", "branch1", "product2");
 
         StepVerifier.create(result)
                 .verifyComplete();
-        
-        assertEquals(2, branch.getProducts().size());
-        assertEquals("product1", branch.getProducts().get(0).getId());
-        assertEquals("product3", branch.getProducts().get(1).getId());
+
+        verify(franchiseRepositoryPort).removeProductFromBranch("franchise1", "branch1", "product2");
+        verify(franchiseRepositoryPort, never()).removeProductFromBranch("franchise1", "branch1", "product1");
+    }
+
+    @Test
+    @DisplayName("Should throw ProductNotFoundException when product is removed concurrently")
+    void shouldThrowProductNotFoundExceptionWhenProductRemovedConcurrently() {
+        when(franchiseRepositoryPort.findByIdWithBranch(eq("franchise1"), anyString())).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.removeProductFromBranch("franchise1", "branch1", "product1"))
+                .thenReturn(Mono.just(false));
+
+        Mono<Void> result = service.deleteProductFromBranch("franchise1", "branch1", "product1");
+
+        StepVerifier.create(result)
+                .expectError(ProductNotFoundException.class)
+                .verify();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package co.com.bancolombia.service;
+
+import co.com.bancolombia.model.FieldSelection;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportFranchisesServiceTest {
+
+    @Mock
+    private FranchiseRepositoryPort franchiseRepositoryPort;
+
+    private ExportFranchisesService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ExportFranchisesService(franchiseRepositoryPort);
+    }
+
+    @Test
+    @DisplayName("Should stream every franchise returned by the repository cursor")
+    void shouldStreamFranchises() {
+        when(franchiseRepositoryPort.findAll(null, 500, FieldSelection.all())).thenReturn(Flux.just(
+                new Franchise("franchise1", "franchise 1", new ArrayList<>()),
+                new Franchise("franchise2", "franchise 2", new ArrayList<>())));
+
+        StepVerifier.create(service.exportFranchises(null, 500, FieldSelection.all()))
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should normalize the name prefix the same way names are stored")
+    void shouldNormalizeNamePrefix() {
+        when(franchiseRepositoryPort.findAll("test", 100, FieldSelection.all())).thenReturn(Flux.empty());
+
+        StepVerifier.create(service.exportFranchises("  Test ", 100, FieldSelection.all()))
+                .verifyComplete();
+
+        verify(franchiseRepositoryPort).findAll("test", 100, FieldSelection.all());
+    }
+
+    @Test
+    @DisplayName("Should ignore a blank name prefix")
+    void shouldIgnoreBlankNamePrefix() {
+        when(franchiseRepositoryPort.findAll(null, 100, FieldSelection.all())).thenReturn(Flux.empty());
+
+        StepVerifier.create(service.exportFranchises(" ", 100, FieldSelection.all()))
+                .verifyComplete();
+
+        verify(franchiseRepositoryPort).findAll(null, 100, FieldSelection.all());
+    }
+
+    @Test
+    @DisplayName("Should reject a batch size out of range")
+    void shouldRejectBatchSizeOutOfRange() {
+        StepVerifier.create(service.exportFranchises(null, 0, FieldSelection.all()))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(service.exportFranchises(null, 10_001, FieldSelection.all()))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(franchiseRepositoryPort);
+    }
+}
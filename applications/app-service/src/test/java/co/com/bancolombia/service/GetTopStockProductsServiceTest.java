@@ -0,0 +1,66 @@
+package co.com.bancolombia.service;
+
+import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import co.com.bancolombia.usecase.exceptions.BranchNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GetTopStockProductsServiceTest {
+
+    @Mock
+    private FranchiseRepositoryPort franchiseRepositoryPort;
+
+    private GetTopStockProductsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new GetTopStockProductsService(franchiseRepositoryPort);
+    }
+
+    @Test
+    @DisplayName("Should return the top stock products of the branch")
+    void shouldReturnTopStockProducts() {
+        List<Product> top = List.of(new Product("product1", "product 1", 50), new Product("product2", "product 2", 20));
+        when(franchiseRepositoryPort.findTopStockProducts("franchise1", "branch1", 2)).thenReturn(Mono.just(top));
+
+        StepVerifier.create(service.getTopStockProducts("franchise1", "branch1", 2))
+                .expectNext(top)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fail with BranchNotFoundException when the branch does not exist")
+    void shouldFailWhenBranchDoesNotExist() {
+        when(franchiseRepositoryPort.findTopStockProducts("franchise1", "missing", 5)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.getTopStockProducts("franchise1", "missing", 5))
+                .expectError(BranchNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should reject a k outside the allowed range")
+    void shouldRejectInvalidK() {
+        StepVerifier.create(service.getTopStockProducts("franchise1", "branch1", 0))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(service.getTopStockProducts("franchise1", "branch1", GetTopStockProductsService.MAX_K + 1))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(franchiseRepositoryPort);
+    }
+}
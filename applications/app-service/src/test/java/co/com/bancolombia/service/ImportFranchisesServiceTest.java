@@ -0,0 +1,107 @@
+package co.com.bancolombia.service;
+
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.BulkItemResult;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImportFranchisesServiceTest {
+
+    @Mock
+    private FranchiseRepositoryPort franchiseRepositoryPort;
+
+    private ImportFranchisesService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImportFranchisesService(franchiseRepositoryPort);
+    }
+
+    private static Franchise franchise(String name, Branch... branches) {
+        return new Franchise(null, name, new ArrayList<>(List.of(branches)));
+    }
+
+    @Test
+    @DisplayName("Should assign branch and product ids and insert the batch at once")
+    void shouldAssignIdsAndInsertBatch() {
+        Franchise franchise = franchise("franchise 1",
+                new Branch(null, "branch 1", new ArrayList<>(List.of(new Product(null, "product 1", 5)))),
+                new Branch(null, "branch 2", null));
+        when(franchiseRepositoryPort.insertAll(anyList()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Franchise>>getArgument(0)).map(BulkItemResult::created));
+
+        StepVerifier.create(service.importFranchises(List.of(franchise)))
+                .expectNextMatches(result -> result.getStatus() == BulkItemResult.Status.CREATED)
+                .verifyComplete();
+
+        Branch branch = franchise.getBranches().getFirst();
+        assertNotNull(branch.getId());
+        assertNotNull(branch.getProducts().getFirst().getId());
+        assertNotNull(franchise.getBranches().get(1).getProducts());
+    }
+
+    @Test
+    @DisplayName("Should fail records with repeated branch or product names without sending them to the database")
+    void shouldFailRecordsWithRepeatedNames() {
+        Franchise repeatedBranches = franchise("franchise 1",
+                new Branch(null, "branch 1", new ArrayList<>()), new Branch(null, "branch 1", new ArrayList<>()));
+        Franchise valid = franchise("franchise 2", new Branch(null, "branch 1", new ArrayList<>()));
+        Franchise repeatedProducts = franchise("franchise 3", new Branch(null, "branch 1", new ArrayList<>(List.of(
+                new Product(null, "product 1", 1), new Product(null, "product 1", 2)))));
+        when(franchiseRepositoryPort.insertAll(argThat(franchises -> franchises.size() == 1)))
+                .thenReturn(Flux.just(BulkItemResult.created(valid)));
+
+        StepVerifier.create(service.importFranchises(List.of(repeatedBranches, valid, repeatedProducts)))
+                .expectNextMatches(result -> result.isFailed() && result.getError().contains("branch 1"))
+                .expectNextMatches(result -> result.getItem() == valid && !result.isFailed())
+                .expectNextMatches(result -> result.isFailed() && result.getError().contains("product 1"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should keep per-record failures reported by the database")
+    void shouldKeepDatabaseFailures() {
+        Franchise first = franchise("franchise 1");
+        Franchise duplicate = franchise("franchise 2");
+        when(franchiseRepositoryPort.insertAll(anyList()))
+                .thenReturn(Flux.just(BulkItemResult.created(first), BulkItemResult.failed(duplicate, "Franchise with name <franchise 2> already exists")));
+
+        StepVerifier.create(service.importFranchises(List.of(first, duplicate)))
+                .expectNextMatches(result -> !result.isFailed())
+                .expectNextMatches(result -> result.isFailed() && result.getError().equals("Franchise with name <franchise 2> already exists"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should not call the database when every record is invalid")
+    void shouldSkipInsertWhenEveryRecordIsInvalid() {
+        Franchise repeatedBranches = franchise("franchise 1",
+                new Branch(null, "branch 1", new ArrayList<>()), new Branch(null, "branch 1", new ArrayList<>()));
+
+        StepVerifier.create(service.importFranchises(List.of(repeatedBranches)))
+                .expectNextMatches(BulkItemResult::isFailed)
+                .verifyComplete();
+
+        verify(franchiseRepositoryPort, never()).insertAll(anyList());
+    }
+}
@@ -0,0 +1,71 @@
+package co.com.bancolombia.service;
+
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.PageResult;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ListBranchesServiceTest {
+
+    @Mock
+    private FranchiseRepositoryPort franchiseRepositoryPort;
+
+    private ListBranchesService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ListBranchesService(franchiseRepositoryPort);
+    }
+
+    @Test
+    @DisplayName("Should read the first page when there is no cursor")
+    void shouldReadFirstPage() {
+        PageResult<Branch> page = PageResult.of(List.of(new Branch("branch1", "branch 1", new ArrayList<>())), "1");
+        when(franchiseRepositoryPort.findBranchPage("franchise1", 0, 1)).thenReturn(Mono.just(page));
+
+        StepVerifier.create(service.listBranches("franchise1", null, 1))
+                .expectNext(page)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should continue from the cursor and cap the page size")
+    void shouldContinueFromCursor() {
+        when(franchiseRepositoryPort.findBranchPage("franchise1", 40, ListBranchesService.MAX_PAGE_SIZE))
+                .thenReturn(Mono.just(PageResult.of(List.of(), null)));
+
+        StepVerifier.create(service.listBranches("franchise1", "40", 500))
+                .expectNextMatches(page -> !page.hasNext())
+                .verifyComplete();
+
+        verify(franchiseRepositoryPort).findBranchPage("franchise1", 40, ListBranchesService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid cursor")
+    void shouldRejectInvalidCursor() {
+        StepVerifier.create(service.listBranches("franchise1", "-3", 10))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(service.listBranches("franchise1", "abc", 10))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(franchiseRepositoryPort);
+    }
+}
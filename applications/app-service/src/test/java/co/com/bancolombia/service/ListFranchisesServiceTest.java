@@ -0,0 +1,72 @@
+package co.com.bancolombia.service;
+
+import co.com.bancolombia.model.FieldSelection;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.PageResult;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ListFranchisesServiceTest {
+
+    private static final FieldSelection SUMMARY = FieldSelection.of(List.of("id", "name"));
+
+    @Mock
+    private FranchiseRepositoryPort franchiseRepositoryPort;
+
+    private ListFranchisesService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ListFranchisesService(franchiseRepositoryPort);
+    }
+
+    @Test
+    @DisplayName("Should return the page read after the cursor")
+    void shouldReturnPageAfterCursor() {
+        PageResult<Franchise> page = PageResult.of(
+                List.of(new Franchise("franchise2", "franchise 2", new ArrayList<>())), "franchise2");
+        when(franchiseRepositoryPort.findPage("franchise1", 10, SUMMARY)).thenReturn(Mono.just(page));
+
+        StepVerifier.create(service.listFranchises(" franchise1 ", 10, SUMMARY))
+                .expectNext(page)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should cap the page size")
+    void shouldCapPageSize() {
+        when(franchiseRepositoryPort.findPage(null, ListFranchisesService.MAX_PAGE_SIZE, FieldSelection.all()))
+                .thenReturn(Mono.just(PageResult.of(List.of(), null)));
+
+        StepVerifier.create(service.listFranchises("", 10_000, FieldSelection.all()))
+                .expectNextMatches(result -> !result.hasNext())
+                .verifyComplete();
+
+        verify(franchiseRepositoryPort).findPage(null, ListFranchisesService.MAX_PAGE_SIZE, FieldSelection.all());
+    }
+
+    @Test
+    @DisplayName("Should reject a page size lower than one")
+    void shouldRejectInvalidPageSize() {
+        StepVerifier.create(service.listFranchises(null, 0, SUMMARY))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(franchiseRepositoryPort);
+    }
+}
@@ -0,0 +1,64 @@
+package co.com.bancolombia.service;
+
+import co.com.bancolombia.model.PageResult;
+import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import co.com.bancolombia.usecase.exceptions.BranchNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ListProductsServiceTest {
+
+    @Mock
+    private FranchiseRepositoryPort franchiseRepositoryPort;
+
+    private ListProductsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ListProductsService(franchiseRepositoryPort);
+    }
+
+    @Test
+    @DisplayName("Should return the page of products read after the cursor")
+    void shouldReturnPageOfProducts() {
+        PageResult<Product> page = PageResult.of(List.of(new Product("product1", "product 1", 5)), "12");
+        when(franchiseRepositoryPort.findProductPage("franchise1", "branch1", 10, 2)).thenReturn(Mono.just(page));
+
+        StepVerifier.create(service.listProducts("franchise1", "branch1", "10", 2))
+                .expectNext(page)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fail with BranchNotFoundException when the branch does not exist")
+    void shouldFailWhenBranchDoesNotExist() {
+        when(franchiseRepositoryPort.findProductPage("franchise1", "missing", 0, 20)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.listProducts("franchise1", "missing", null, 20))
+                .expectError(BranchNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should reject a page size lower than one")
+    void shouldRejectInvalidPageSize() {
+        StepVerifier.create(service.listProducts("franchise1", "branch1", null, 0))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(franchiseRepositoryPort);
+    }
+}
@@ -19,6 +19,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,29 +31,22 @@ class UpdateBranchNameServiceTest {
     private FranchiseRepositoryPort franchiseRepositoryPort;
 
     private UpdateBranchNameService service;
-    private Franchise franchise;
-    private Branch branch1;
-    private Branch branch2;
+    private Product product;
 
     @BeforeEach
     void setUp() {
         service = new UpdateBranchNameService(franchiseRepositoryPort);
-        
-        Product product = new Product("product1", "product 1", 10);
-        
-        branch1 = new Branch("branch1", "branch 1", List.of(product));
-        branch2 = new Branch("branch2", "branch 2", new ArrayList<>());
-        
-        franchise = new Franchise("franchise1", "franchise 1", List.of(branch1, branch2));
+
+        product = new Product("product1", "product 1", 10);
     }
 
     @Test
-    @DisplayName("Should update branch name successfully")
+    @DisplayName("Should update branch name with a single targeted write")
     void shouldUpdateBranchNameSuccessfully() {
         Branch branchUpdate = new Branch("branch1", "updated branch name", null);
         
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class))).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.renameBranch("franchise1", "branch1", "updated branch name"))
+                .thenReturn(Mono.just(new Branch("branch1", "updated branch name", List.of(product))));
 
         Mono<Branch> result = service.updateName("franchise1", branchUpdate);
 
@@ -60,6 +56,9 @@ class UpdateBranchNameServiceTest {
                         "updated branch name".equals(branch.getName())
                 )
                 .verifyComplete();
+
+        verify(franchiseRepositoryPort, never()).findById(anyString());
+        verify(franchiseRepositoryPort, never()).save(any(Franchise.class));
     }
 
     @Test
@@ -67,7 +66,9 @@ class UpdateBranchNameServiceTest {
     void shouldThrowBranchNotFoundExceptionWhenBranchDoesNotExist() {
         Branch branchUpdate = new Branch("nonexistent", "new name", null);
         
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.renameBranch("franchise1", "nonexistent", "new name")).thenReturn(Mono.empty());
+        when(franchiseRepositoryPort.findByIdWithBranch("franchise1", "nonexistent"))
+                .thenReturn(Mono.just(new Franchise("franchise1", "franchise 1", new ArrayList<>())));
 
         Mono<Branch> result = service.updateName("franchise1", branchUpdate);
 
@@ -80,8 +81,11 @@ class UpdateBranchNameServiceTest {
     @DisplayName("Should throw DuplicateBranchException when name already exists")
     void shouldThrowDuplicateBranchExceptionWhenNameAlreadyExists() {
         Branch branchUpdate = new Branch("branch1", "branch 2", null);
+        Branch storedBranch = new Branch("branch1", "branch 1", List.of(product));
         
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.renameBranch("franchise1", "branch1", "branch 2")).thenReturn(Mono.empty());
+        when(franchiseRepositoryPort.findByIdWithBranch("franchise1", "branch1"))
+                .thenReturn(Mono.just(new Franchise("franchise1", "franchise 1", List.of(storedBranch))));
 
         Mono<Branch> result = service.updateName("franchise1", branchUpdate);
 
@@ -95,7 +99,7 @@ class UpdateBranchNameServiceTest {
     void shouldHandleFranchiseRepositoryError() {
         Branch branchUpdate = new Branch("branch1", "updated name", null);
         
-        when(franchiseRepositoryPort.findById("franchise1"))
+        when(franchiseRepositoryPort.renameBranch("franchise1", "branch1", "updated name"))
                 .thenReturn(Mono.error(new RuntimeException("Database error")));
 
         Mono<Branch> result = service.updateName("franchise1", branchUpdate);
@@ -106,69 +110,19 @@ class UpdateBranchNameServiceTest {
     }
 
     @Test
-    @DisplayName("Should handle save error")
-    void shouldHandleSaveError() {
-        Branch branchUpdate = new Branch("branch1", "updated name", null);
-        
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class)))
-                .thenReturn(Mono.error(new RuntimeException("Save error")));
-
-        Mono<Branch> result = service.updateName("franchise1", branchUpdate);
-
-        StepVerifier.create(result)
-                .expectError(RuntimeException.class)
-                .verify();
-    }
-
-    @Test
-    @DisplayName("Should handle franchise not found")
+    @DisplayName("Should propagate franchise not found")
     void shouldHandleFranchiseNotFound() {
         Branch branchUpdate = new Branch("branch1", "updated name", null);
         
-        when(franchiseRepositoryPort.findById("nonexistent"))
-                .thenReturn(Mono.empty());
+        when(franchiseRepositoryPort.renameBranch("nonexistent", "branch1", "updated name")).thenReturn(Mono.empty());
+        when(franchiseRepositoryPort.findByIdWithBranch("nonexistent", "branch1"))
+                .thenReturn(Mono.error(new IllegalArgumentException("Franchise with id <nonexistent> not found!")));
 
         Mono<Branch> result = service.updateName("nonexistent", branchUpdate);
 
         StepVerifier.create(result)
-                .verifyComplete();
-    }
-
-    @Test
-    @DisplayName("Should update branch name with special characters")
-    void shouldUpdateBranchNameWithSpecialCharacters() {
-        Branch branchUpdate = new Branch("branch1", "branch-name_with@special#chars", null);
-        
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class))).thenReturn(Mono.just(franchise));
-
-        Mono<Branch> result = service.updateName("franchise1", branchUpdate);
-
-        StepVerifier.create(result)
-                .expectNextMatches(branch -> 
-                        "branch1".equals(branch.getId()) &&
-                        "branch-name_with@special#chars".equals(branch.getName())
-                )
-                .verifyComplete();
-    }
-
-    @Test
-    @DisplayName("Should update branch name with numbers")
-    void shouldUpdateBranchNameWithNumbers() {
-        Branch branchUpdate = new Branch("branch1", "branch 123", null);
-        
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class))).thenReturn(Mono.just(franchise));
-
-        Mono<Branch> result = service.updateName("franchise1", branchUpdate);
-
-        StepVerifier.create(result)
-                .expectNextMatches(branch -> 
-                        "branch1".equals(branch.getId()) &&
-                        "branch 123".equals(branch.getName())
-                )
-                .verifyComplete();
+                .expectError(IllegalArgumentException.class)
+                .verify();
     }
 
     @Test
@@ -176,8 +130,8 @@ class UpdateBranchNameServiceTest {
     void shouldPreserveBranchProductsAfterNameUpdate() {
         Branch branchUpdate = new Branch("branch1", "updated branch", null);
         
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class))).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.renameBranch("franchise1", "branch1", "updated branch"))
+                .thenReturn(Mono.just(new Branch("branch1", "updated branch", List.of(product))));
 
         Mono<Branch> result = service.updateName("franchise1", branchUpdate);
 
@@ -190,4 +144,4 @@ class UpdateBranchNameServiceTest {
                 )
                 .verifyComplete();
     }
-}
\ No newline at end of file
+}
@@ -20,6 +20,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,12 +47,12 @@ class UpdateProductServiceTest {
     }
 
     @Test
-    @DisplayName("Should update product name and stock successfully")
+    @DisplayName("Should update product name and stock in one guarded write without reading the franchise")
     void shouldUpdateProductNameAndStockSuccessfully() {
         Product updateData = new Product("product1", "updated product", 1);
         
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class))).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.updateProductInBranch("franchise1", "branch1", "product1", "updated product", 1))
+                .thenReturn(Mono.just(new Product("product1", "updated product", 11)));
 
         Mono<Product> result = service.updateProduct("franchise1", "branch1", updateData);
 
@@ -59,15 +63,17 @@ class UpdateProductServiceTest {
                         product.getStock() == 11
                 )
                 .verifyComplete();
+
+        verify(franchiseRepositoryPort, never()).findByIdWithBranch(anyString(), anyString());
     }
 
     @Test
-    @DisplayName("Should update only stock when name is null")
+    @DisplayName("Should increment only stock without reading the franchise when name is null")
     void shouldUpdateOnlyStockWhenNameIsNull() {
         Product updateData = new Product("product1", null, 5);
         
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class))).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.incrementProductStock("franchise1", "branch1", "product1", 5))
+                .thenReturn(Mono.just(new Product("product1", "existing product", 15)));
 
         Mono<Product> result = service.updateProduct("franchise1", "branch1", updateData);
 
@@ -77,15 +83,18 @@ class UpdateProductServiceTest {
                         product.getStock() == 15
                 )
                 .verifyComplete();
+
+        verify(franchiseRepositoryPort, never()).findByIdWithBranch(anyString(), anyString());
+        verify(franchiseRepositoryPort, never()).save(any(Franchise.class));
     }
 
     @Test
-    @DisplayName("Should update only stock when name is blank")
+    @DisplayName("Should increment only stock when name is blank")
     void shouldUpdateOnlyStockWhenNameIsBlank() {
         Product updateData = new Product("product1", "", 5);
         
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class))).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.incrementProductStock("franchise1", "branch1", "product1", 5))
+                .thenReturn(Mono.just(new Product("product1", "existing product", 15)));
 
         Mono<Product> result = service.updateProduct("franchise1", "branch1", updateData);
 
@@ -102,8 +111,8 @@ class UpdateProductServiceTest {
     void shouldUpdateStockWhenIncrementIsZero() {
         Product updateData = new Product("product1", "updated product", 0);
         
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class))).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.updateProductInBranch("franchise1", "branch1", "product1", "updated product", 0))
+                .thenReturn(Mono.just(new Product("product1", "updated product", 10)));
 
         Mono<Product> result = service.updateProduct("franchise1", "branch1", updateData);
 
@@ -121,8 +130,8 @@ class UpdateProductServiceTest {
     void shouldNotUpdateStockWhenNegativeValueProvided() {
         Product updateData = new Product("product1", "updated product", -1);
         
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class))).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.updateProductInBranch("franchise1", "branch1", "product1", "updated product", 0))
+                .thenReturn(Mono.just(new Product("product1", "updated product", 10)));
 
         Mono<Product> result = service.updateProduct("franchise1", "branch1", updateData);
 
@@ -139,8 +148,8 @@ class UpdateProductServiceTest {
     void shouldNotUpdateStockWhenNullValueProvided() {
         Product updateData = new Product("product1", "updated product", null);
         
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class))).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.updateProductInBranch("franchise1", "branch1", "product1", "updated product", 0))
+                .thenReturn(Mono.just(new Product("product1", "updated product", 10)));
 
         Mono<Product> result = service.updateProduct("franchise1", "branch1", updateData);
 
@@ -157,7 +166,9 @@ class UpdateProductServiceTest {
     void shouldThrowBranchNotFoundExceptionWhenBranchDoesNotExist() {
         Product updateData = new Product("product1", "updated product", 5);
         
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.updateProductInBranch("franchise1", "nonexistent", "product1", "updated product", 5))
+                .thenReturn(Mono.empty());
+        when(franchiseRepositoryPort.findByIdWithBranch(eq("franchise1"), anyString())).thenReturn(Mono.just(franchise));
 
         Mono<Product> result = service.updateProduct("franchise1", "nonexistent", updateData);
 
@@ -171,7 +182,41 @@ class UpdateProductServiceTest {
     void shouldThrowProductNotFoundExceptionWhenProductDoesNotExist() {
         Product updateData = new Product("nonexistent", "updated product", 5);
         
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.updateProductInBranch("franchise1", "branch1", "nonexistent", "updated product", 5))
+                .thenReturn(Mono.empty());
+        when(franchiseRepositoryPort.findByIdWithBranch(eq("franchise1"), anyString())).thenReturn(Mono.just(franchise));
+
+        Mono<Product> result = service.updateProduct("franchise1", "branch1", updateData);
+
+        StepVerifier.create(result)
+                .expectError(ProductNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should throw BranchNotFoundException when stock increment matches no branch")
+    void shouldThrowBranchNotFoundExceptionWhenIncrementMatchesNoBranch() {
+        Product updateData = new Product("product1", null, 5);
+
+        when(franchiseRepositoryPort.incrementProductStock("franchise1", "nonexistent", "product1", 5))
+                .thenReturn(Mono.empty());
+        when(franchiseRepositoryPort.findByIdWithBranch(eq("franchise1"), anyString())).thenReturn(Mono.just(franchise));
+
+        Mono<Product> result = service.updateProduct("franchise1", "nonexistent", updateData);
+
+        StepVerifier.create(result)
+                .expectError(BranchNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should throw ProductNotFoundException when stock increment matches no product")
+    void shouldThrowProductNotFoundExceptionWhenIncrementMatchesNoProduct() {
+        Product updateData = new Product("nonexistent", null, 5);
+
+        when(franchiseRepositoryPort.incrementProductStock("franchise1", "branch1", "nonexistent", 5))
+                .thenReturn(Mono.empty());
+        when(franchiseRepositoryPort.findByIdWithBranch(eq("franchise1"), anyString())).thenReturn(Mono.just(franchise));
 
         Mono<Product> result = service.updateProduct("franchise1", "branch1", updateData);
 
@@ -181,14 +226,16 @@ class UpdateProductServiceTest {
     }
 
     @Test
-    @DisplayName("Should throw DuplicateProductException when product name already exists")
+    @DisplayName("Should throw DuplicateProductException when the rename is rejected because the name is taken")
     void shouldThrowDuplicateProductExceptionWhenProductNameAlreadyExists() {
         Product anotherProduct = new Product("product2", "another product", 5);
         branch.getProducts().add(anotherProduct);
         
         Product updateData = new Product("product1", "another product", 5);
         
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.updateProductInBranch("franchise1", "branch1", "product1", "another product", 5))
+                .thenReturn(Mono.empty());
+        when(franchiseRepositoryPort.findByIdWithBranch(eq("franchise1"), anyString())).thenReturn(Mono.just(franchise));
 
         Mono<Product> result = service.updateProduct("franchise1", "branch1", updateData);
 
@@ -202,7 +249,9 @@ class UpdateProductServiceTest {
     void shouldHandleFranchiseRepositoryError() {
         Product updateData = new Product("product1", "updated product", 5);
         
-        when(franchiseRepositoryPort.findById("franchise1"))
+        when(franchiseRepositoryPort.updateProductInBranch("franchise1", "branch1", "product1", "updated product", 5))
+                .thenReturn(Mono.empty());
+        when(franchiseRepositoryPort.findByIdWithBranch(eq("franchise1"), anyString()))
                 .thenReturn(Mono.error(new RuntimeException("Database error")));
 
         Mono<Product> result = service.updateProduct("franchise1", "branch1", updateData);
@@ -217,8 +266,7 @@ class UpdateProductServiceTest {
     void shouldHandleSaveError() {
         Product updateData = new Product("product1", "updated product", 5);
         
-        when(franchiseRepositoryPort.findById("franchise1")).thenReturn(Mono.just(franchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class)))
+        when(franchiseRepositoryPort.updateProductInBranch("franchise1", "branch1", "product1", "updated product", 5))
                 .thenReturn(Mono.error(new RuntimeException("Save error")));
 
         Mono<Product> result = service.updateProduct("franchise1", "branch1", updateData);
@@ -227,4 +275,21 @@ class UpdateProductServiceTest {
                 .expectError(RuntimeException.class)
                 .verify();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should throw ProductNotFoundException when product is removed before the rename is written")
+    void shouldThrowProductNotFoundExceptionWhenProductRemovedConcurrently() {
+        branch.getProducts().clear();
+        Product updateData = new Product("product1", "updated product", 5);
+
+        when(franchiseRepositoryPort.findByIdWithBranch(eq("franchise1"), anyString())).thenReturn(Mono.just(franchise));
+        when(franchiseRepositoryPort.updateProductInBranch("franchise1", "branch1", "product1", "updated product", 5))
+                .thenReturn(Mono.empty());
+
+        Mono<Product> result = service.updateProduct("franchise1", "branch1", updateData);
+
+        StepVerifier.create(result)
+                .expectError(ProductNotFoundException.class)
+                .verify();
+    }
+}
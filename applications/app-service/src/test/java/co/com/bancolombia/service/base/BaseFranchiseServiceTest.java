@@ -5,8 +5,6 @@ import co.com.bancolombia.model.Franchise;
 import co.com.bancolombia.model.Product;
 import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
 import co.com.bancolombia.usecase.exceptions.BranchNotFoundException;
-import co.com.bancolombia.usecase.exceptions.DuplicateBranchException;
-import co.com.bancolombia.usecase.exceptions.DuplicateProductException;
 import co.com.bancolombia.usecase.exceptions.ProductNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,6 +18,8 @@ import reactor.test.StepVerifier;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -77,65 +77,23 @@ class BaseFranchiseServiceTest {
     }
 
     @Test
-    @DisplayName("Should validate branch name not duplicated successfully")
-    void shouldValidateBranchNameNotDuplicatedSuccessfully() {
-        assertDoesNotThrow(() -> service.validateBranchNameNotDuplicated(franchise, "new branch"));
-    }
-
-    @Test
-    @DisplayName("Should throw DuplicateBranchException when branch name exists")
-    void shouldThrowDuplicateBranchExceptionWhenBranchNameExists() {
-        assertThrows(DuplicateBranchException.class, 
-            () -> service.validateBranchNameNotDuplicated(franchise, "branch 1"));
-    }
-
-    @Test
-    @DisplayName("Should validate product name not duplicated successfully")
-    void shouldValidateProductNameNotDuplicatedSuccessfully() {
-        assertDoesNotThrow(() -> service.validateProductNameNotDuplicated(branch, "new product"));
-    }
-
-    @Test
-    @DisplayName("Should validate product name not duplicated when name is null")
-    void shouldValidateProductNameNotDuplicatedWhenNameIsNull() {
-        assertDoesNotThrow(() -> service.validateProductNameNotDuplicated(branch, null));
-    }
+    @DisplayName("Should resolve missing branch when a targeted product write matched nothing")
+    void shouldResolveMissingBranchForProductWrite() {
+        when(franchiseRepositoryPort.findByIdWithBranch(eq("franchise1"), anyString())).thenReturn(Mono.just(franchise));
 
-    @Test
-    @DisplayName("Should validate product name not duplicated when name is blank")
-    void shouldValidateProductNameNotDuplicatedWhenNameIsBlank() {
-        assertDoesNotThrow(() -> service.validateProductNameNotDuplicated(branch, ""));
-    }
-
-    @Test
-    @DisplayName("Should throw DuplicateProductException when product name exists")
-    void shouldThrowDuplicateProductExceptionWhenProductNameExists() {
-        assertThrows(DuplicateProductException.class, 
-            () -> service.validateProductNameNotDuplicated(branch, "product 1"));
-    }
-
-    @Test
-    @DisplayName("Should save franchise and return value")
-    void shouldSaveFranchiseAndReturnValue() {
-        String returnValue = "test";
-        when(franchiseRepositoryPort.save(franchise)).thenReturn(Mono.just(franchise));
-
-        Mono<String> result = service.saveFranchiseAndReturn(franchise, returnValue);
-
-        StepVerifier.create(result)
-                .expectNext(returnValue)
-                .verifyComplete();
+        StepVerifier.create(service.productNotFound("franchise1", "nonexistent", "product1"))
+                .expectError(BranchNotFoundException.class)
+                .verify();
     }
 
     @Test
-    @DisplayName("Should save franchise")
-    void shouldSaveFranchise() {
-        when(franchiseRepositoryPort.save(franchise)).thenReturn(Mono.just(franchise));
-
-        Mono<Void> result = service.saveFranchise(franchise);
+    @DisplayName("Should resolve missing product when a targeted product write matched nothing")
+    void shouldResolveMissingProductForProductWrite() {
+        when(franchiseRepositoryPort.findByIdWithBranch(eq("franchise1"), anyString())).thenReturn(Mono.just(franchise));
 
-        StepVerifier.create(result)
-                .verifyComplete();
+        StepVerifier.create(service.productNotFound("franchise1", "branch1", "nonexistent"))
+                .expectError(ProductNotFoundException.class)
+                .verify();
     }
 
     private static class TestBaseFranchiseService extends BaseFranchiseService {
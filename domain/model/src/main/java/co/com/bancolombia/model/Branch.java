@@ -6,10 +6,11 @@ public final class Branch {
     private String id;
     private String name;
     private List<Product> products;
+    private final LookupIndex<Product> productIndex = new LookupIndex<>(Product::getId, Product::getName);
 
     public Branch(String id, String name, List<Product> products) {
         this.id = id;
-        this.name = name.trim().toLowerCase();
+        this.name = name == null ? null : name.trim().toLowerCase();
         this.products = products;
     }
 
@@ -35,18 +36,18 @@ public final class Branch {
 
     public void setProducts(List<Product> products) {
         this.products = products;
+        this.productIndex.invalidate();
     }
 
     public boolean existsProductByName(Branch branch, String name) {
-        return branch.getProducts()
-                .stream()
-                .anyMatch(product -> product.getName().equals(name));
+        return branch.findProductByName(name) != null;
     }
 
     public Product findProductById(String id) {
-        return this.products
-                .stream()
-                .filter(product -> product.getId().equals(id))
-                .findFirst().orElse(null);
+        return productIndex.findById(this.products, id);
+    }
+
+    public Product findProductByName(String name) {
+        return productIndex.findByName(this.products, name);
     }
 }
@@ -0,0 +1,48 @@
+package co.com.bancolombia.model;
+
+public final class BulkItemResult<T> {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        FAILED
+    }
+
+    private final T item;
+    private final Status status;
+    private final String error;
+
+    private BulkItemResult(T item, Status status, String error) {
+        this.item = item;
+        this.status = status;
+        this.error = error;
+    }
+
+    public static <T> BulkItemResult<T> created(T item) {
+        return new BulkItemResult<>(item, Status.CREATED, null);
+    }
+
+    public static <T> BulkItemResult<T> updated(T item) {
+        return new BulkItemResult<>(item, Status.UPDATED, null);
+    }
+
+    public static <T> BulkItemResult<T> failed(T item, String error) {
+        return new BulkItemResult<>(item, Status.FAILED, error);
+    }
+
+    public T getItem() {
+        return item;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isFailed() {
+        return status == Status.FAILED;
+    }
+}
@@ -0,0 +1,90 @@
+package co.com.bancolombia.model;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * The subset of franchise fields a reader asked for, as dotted paths such as {@code branches.products.stock}.
+ * Selecting a path selects everything below it.
+ */
+public final class FieldSelection {
+
+    public static final Set<String> ALLOWED_PATHS = Set.of(
+            "id", "name", "branches", "branches.id", "branches.name", "branches.products",
+            "branches.products.id", "branches.products.name", "branches.products.stock");
+
+    private static final FieldSelection ALL = new FieldSelection(null);
+
+    private final Set<String> paths;
+
+    private FieldSelection(Set<String> paths) {
+        this.paths = paths;
+    }
+
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    public static FieldSelection of(Collection<String> requested) {
+        Set<String> cleaned = requested.stream()
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .collect(Collectors.toCollection(TreeSet::new));
+        if (cleaned.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be selected");
+        }
+        cleaned.stream()
+                .filter(path -> !ALLOWED_PATHS.contains(path))
+                .findFirst()
+                .ifPresent(path -> {
+                    throw new IllegalArgumentException("Unknown field " + path);
+                });
+
+        Set<String> normalized = cleaned.stream()
+                .filter(path -> cleaned.stream().noneMatch(other -> isAncestor(other, path)))
+                .collect(Collectors.toUnmodifiableSet());
+        return new FieldSelection(normalized);
+    }
+
+    public boolean isAll() {
+        return paths == null;
+    }
+
+    /**
+     * The selected paths without any path already covered by a selected ancestor, empty when everything is selected.
+     */
+    public Set<String> getPaths() {
+        return paths == null ? Set.of() : paths;
+    }
+
+    /**
+     * Whether the value at {@code path} is selected, either directly or through one of its ancestors.
+     */
+    public boolean includes(String path) {
+        return paths == null || paths.stream().anyMatch(selected -> selected.equals(path) || isAncestor(selected, path));
+    }
+
+    /**
+     * Whether the value at {@code path} or anything below it is selected, so the container has to be read.
+     */
+    public boolean includesAny(String path) {
+        return includes(path) || paths.stream().anyMatch(selected -> isAncestor(path, selected));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof FieldSelection selection && Objects.equals(paths, selection.paths);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(paths);
+    }
+
+    private static boolean isAncestor(String ancestor, String path) {
+        return path.startsWith(ancestor + ".");
+    }
+}
@@ -6,11 +6,18 @@ public final class Franchise {
     private String id;
     private String name;
     private List<Branch> branches;
+    private Long version;
+    private final LookupIndex<Branch> branchIndex = new LookupIndex<>(Branch::getId, Branch::getName);
 
     public Franchise(String id, String name, List<Branch> branches) {
+        this(id, name, branches, null);
+    }
+
+    public Franchise(String id, String name, List<Branch> branches, Long version) {
         this.id = id;
         this.name = name;
         this.branches = branches;
+        this.version = version;
     }
 
     public String getId() {
@@ -35,17 +42,22 @@ public final class Franchise {
 
     public void setBranches(List<Branch> branches) {
         this.branches = branches;
+        this.branchIndex.invalidate();
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
     }
 
     public Branch findBranchById(String branchId) {
-        return this.branches.stream()
-                .filter(br -> br.getId().equals(branchId))
-                .findFirst().orElse(null);
+        return branchIndex.findById(this.branches, branchId);
     }
 
     public boolean existsBranchByName(String name) {
-        return this.branches
-                .stream()
-                .anyMatch(fBranch -> fBranch.getName().equals(name));
+        return branchIndex.findByName(this.branches, name) != null;
     }
 }
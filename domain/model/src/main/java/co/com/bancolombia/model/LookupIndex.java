@@ -0,0 +1,82 @@
+package co.com.bancolombia.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Id and name hash indexes over the children of an aggregate, built on the first lookup once the list reaches
+ * {@link #MIN_INDEXED_SIZE} elements. Smaller lists are scanned.
+ * <p>
+ * The index is rebuilt when the aggregate replaces its list ({@link #invalidate()}), when the list changes size, or
+ * when a hit's key no longer matches. A child renamed in place is therefore only found under its new name after one
+ * of those. Loaded aggregates are not changed in place, so this does not come up outside of tests. Each build is
+ * immutable and published through a volatile field, so an aggregate shared between threads is safe to query.
+ */
+final class LookupIndex<T> {
+
+    /**
+     * Lists shorter than this are scanned instead of indexed. The value is an untuned default, not a measured
+     * crossover point.
+     */
+    static final int MIN_INDEXED_SIZE = 32;
+
+    private final Function<T, String> idOf;
+    private final Function<T, String> nameOf;
+    private volatile Index<T> index;
+
+    LookupIndex(Function<T, String> idOf, Function<T, String> nameOf) {
+        this.idOf = idOf;
+        this.nameOf = nameOf;
+    }
+
+    T findById(List<T> items, String id) {
+        return find(items, id, idOf, true);
+    }
+
+    T findByName(List<T> items, String name) {
+        return find(items, name, nameOf, false);
+    }
+
+    void invalidate() {
+        index = null;
+    }
+
+    private T find(List<T> items, String key, Function<T, String> keyOf, boolean lookupById) {
+        if (items.size() < MIN_INDEXED_SIZE) {
+            return items.stream()
+                    .filter(item -> keyOf.apply(item).equals(key))
+                    .findFirst().orElse(null);
+        }
+        Index<T> current = index;
+        if (current == null || current.source() != items || current.size() != items.size()) {
+            current = rebuild(items);
+        }
+        T found = current.get(key, lookupById);
+        if (found != null && !Objects.equals(key, keyOf.apply(found))) {
+            found = rebuild(items).get(key, lookupById);
+        }
+        return found;
+    }
+
+    private Index<T> rebuild(List<T> items) {
+        Map<String, T> ids = HashMap.newHashMap(items.size());
+        Map<String, T> names = HashMap.newHashMap(items.size());
+        for (T item : items) {
+            ids.putIfAbsent(idOf.apply(item), item);
+            names.putIfAbsent(nameOf.apply(item), item);
+        }
+        Index<T> built = new Index<>(items, items.size(), ids, names);
+        index = built;
+        return built;
+    }
+
+    private record Index<T>(List<T> source, int size, Map<String, T> byId, Map<String, T> byName) {
+
+        T get(String key, boolean lookupById) {
+            return (lookupById ? byId : byName).get(key);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package co.com.bancolombia.model;
+
+import java.util.List;
+import java.util.function.Function;
+
+public final class PageResult<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    private PageResult(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public static <T> PageResult<T> of(List<T> items, String nextCursor) {
+        return new PageResult<>(List.copyOf(items), nextCursor);
+    }
+
+    /**
+     * Builds a page from a query that fetched one item more than {@code size}: the extra item only proves that another
+     * page exists, so it is dropped and the key of the last kept item becomes the cursor.
+     */
+    public static <T> PageResult<T> fromOverfetched(List<T> items, int size, Function<T, String> keyExtractor) {
+        if (items.size() <= size) {
+            return of(items, null);
+        }
+        List<T> page = items.subList(0, size);
+        return of(page, keyExtractor.apply(page.getLast()));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,11 @@
+package co.com.bancolombia.model.gateway;
+
+/**
+ * Raised when another franchise already has the name being stored, including by {@link FranchiseRepositoryPort}
+ * writes that the database rejects for that reason.
+ */
+public class DuplicateFranchiseException extends RuntimeException {
+    public DuplicateFranchiseException(String message) {
+        super("Franchise with name <" + message + "> already exists");
+    }
+}
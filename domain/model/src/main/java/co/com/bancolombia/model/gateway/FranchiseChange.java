@@ -0,0 +1,53 @@
+package co.com.bancolombia.model.gateway;
+
+import java.util.Objects;
+
+/**
+ * Something changed in the stored franchises: either one franchise, or possibly all of them when changes could not
+ * be followed one by one.
+ */
+public final class FranchiseChange {
+
+    private static final FranchiseChange EVERYTHING = new FranchiseChange(null);
+
+    private final String franchiseId;
+
+    private FranchiseChange(String franchiseId) {
+        this.franchiseId = franchiseId;
+    }
+
+    public static FranchiseChange of(String franchiseId) {
+        return new FranchiseChange(Objects.requireNonNull(franchiseId, "franchiseId"));
+    }
+
+    public static FranchiseChange everything() {
+        return EVERYTHING;
+    }
+
+    public boolean isEverything() {
+        return franchiseId == null;
+    }
+
+    /**
+     * The changed franchise, or null when {@link #isEverything()}.
+     */
+    public String getFranchiseId() {
+        return franchiseId;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other
+                || other instanceof FranchiseChange change && Objects.equals(franchiseId, change.franchiseId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(franchiseId);
+    }
+
+    @Override
+    public String toString() {
+        return isEverything() ? "FranchiseChange[everything]" : "FranchiseChange[" + franchiseId + "]";
+    }
+}
@@ -0,0 +1,12 @@
+package co.com.bancolombia.model.gateway;
+
+import reactor.core.publisher.Flux;
+
+public interface FranchiseChangeFeed {
+    /**
+     * Follows the changes written to the stored franchises by any application instance, starting where the previous
+     * subscription of this instance left off. Never completes on its own; a subscription that cannot resume where it
+     * left off first emits {@link FranchiseChange#everything()}.
+     */
+    Flux<FranchiseChange> franchiseChanges();
+}
@@ -1,10 +1,110 @@
 package co.com.bancolombia.model.gateway;
 
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.BulkItemResult;
+import co.com.bancolombia.model.FieldSelection;
 import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.PageResult;
+import co.com.bancolombia.model.Product;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface FranchiseRepositoryPort {
+    /**
+     * Completes empty when the stored version no longer matches {@link Franchise#getVersion()}.
+     */
     Mono<Franchise> save(Franchise franchise);
+
+    /**
+     * Fails with {@link UnknownFranchiseException}, like every single-franchise read, when the id does not exist.
+     */
     Mono<Franchise> findById(String id);
+
+    /**
+     * Streams the franchises whose name starts with {@code namePrefix}, all of them when it is null.
+     */
+    Flux<Franchise> findAll(String namePrefix, int batchSize, FieldSelection fields);
+
+    /**
+     * Keyset page ordered by id; the id is always read since it is the cursor.
+     */
+    Mono<PageResult<Franchise>> findPage(String afterId, int size, FieldSelection fields);
+
+    /**
+     * Page of branches without their products, starting at position {@code offset}.
+     */
+    Mono<PageResult<Branch>> findBranchPage(String franchiseId, int offset, int size);
+
+    /**
+     * Completes empty when the franchise has no such branch.
+     */
+    Mono<PageResult<Product>> findProductPage(String franchiseId, String branchId, int offset, int size);
+
+    /**
+     * Highest stock first; completes empty when the franchise has no such branch.
+     */
+    Mono<List<Product>> findTopStockProducts(String franchiseId, String branchId, int k);
+
+    /**
+     * Emits one result per franchise in input order; created results carry a stored copy, the input is left unchanged.
+     */
+    Flux<BulkItemResult<Franchise>> insertAll(List<Franchise> franchises);
+
+    /**
+     * Loads a franchise whose branches each carry only their highest-stock product.
+     */
+    Mono<Franchise> findWithMaxStockProductPerBranch(String franchiseId);
+
+    /**
+     * Same view as {@link #findWithMaxStockProductPerBranch(String)} with one query; unknown ids are skipped.
+     */
+    Flux<Franchise> findAllWithMaxStockProductPerBranch(List<String> franchiseIds);
+
+    /**
+     * Partial view carrying only the requested branch; never pass it to {@link #save(Franchise)}.
+     */
+    Mono<Franchise> findByIdWithBranch(String franchiseId, String branchId);
+
+    /**
+     * Emits the franchise without its branches; completes empty when it does not exist.
+     */
+    Mono<Franchise> renameFranchise(String franchiseId, String name);
+
+    /**
+     * Completes empty when the franchise or branch does not exist or the name is taken.
+     */
+    Mono<Branch> renameBranch(String franchiseId, String branchId, String name);
+
+    /**
+     * Completes empty when the franchise does not exist or the name is taken.
+     */
+    Mono<Branch> addBranchToFranchise(String franchiseId, Branch branch);
+
+    /**
+     * Completes empty when the franchise or branch does not exist or the name is taken.
+     */
+    Mono<Product> addProductToBranch(String franchiseId, String branchId, Product product);
+
+    /**
+     * Renames the product when {@code name} is not null and increments its stock; completes empty when it does not
+     * exist or the name is taken.
+     */
+    Mono<Product> updateProductInBranch(String franchiseId, String branchId, String productId, String name, int stockIncrement);
+
+    /**
+     * Completes empty when the franchise, branch or product does not exist.
+     */
+    Mono<Product> incrementProductStock(String franchiseId, String branchId, String productId, int increment);
+
+    /**
+     * Replaces name and stock of {@code updated}, appends {@code created}; emits {@code true} when every write applied.
+     */
+    Mono<Boolean> upsertBranchProducts(String franchiseId, String branchId, List<Product> updated, List<Product> created);
+
+    /**
+     * Emits {@code true} when the product was removed.
+     */
+    Mono<Boolean> removeProductFromBranch(String franchiseId, String branchId, String productId);
 }
@@ -0,0 +1,12 @@
+package co.com.bancolombia.model.gateway;
+
+/**
+ * Raised by {@link FranchiseRepositoryPort} calls when the store could not be reached or did not answer in time, as
+ * opposed to rejecting the call. Retrying later may succeed.
+ */
+public class FranchiseStoreUnavailableException extends RuntimeException {
+
+    public FranchiseStoreUnavailableException(Throwable cause) {
+        super("Franchise store unavailable", cause);
+    }
+}
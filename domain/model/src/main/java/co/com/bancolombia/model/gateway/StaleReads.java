@@ -0,0 +1,19 @@
+package co.com.bancolombia.model.gateway;
+
+/**
+ * Opt-in for stale answers. A caller that puts an instance in the Reactor context of a {@link FranchiseRepositoryPort}
+ * read, under the {@code StaleReads.class} key, accepts a last-known-good copy when the database is unavailable, and
+ * can then tell from {@link #isStale()} whether that is what it got. Reads without it fail instead.
+ */
+public final class StaleReads {
+
+    private volatile boolean stale;
+
+    public void markStale() {
+        this.stale = true;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+}
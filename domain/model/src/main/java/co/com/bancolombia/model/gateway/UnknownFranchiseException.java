@@ -0,0 +1,19 @@
+package co.com.bancolombia.model.gateway;
+
+/**
+ * Raised by {@link FranchiseRepositoryPort} reads when no franchise has the requested id. It stays an
+ * {@link IllegalArgumentException} so callers keep treating it as a bad request.
+ */
+public class UnknownFranchiseException extends IllegalArgumentException {
+
+    private final String franchiseId;
+
+    public UnknownFranchiseException(String franchiseId) {
+        super("Franchise with id <" + franchiseId + "> not found!");
+        this.franchiseId = franchiseId;
+    }
+
+    public String getFranchiseId() {
+        return franchiseId;
+    }
+}
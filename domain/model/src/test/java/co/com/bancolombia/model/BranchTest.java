@@ -322,4 +322,39 @@ class BranchTest {
         assertEquals("prod2", branch.getProducts().get(1).getId());
         assertEquals("prod3", branch.getProducts().get(2).getId());
     }
-}
\ No newline at end of file
+
+    private static List<Product> manyProducts(int count) {
+        List<Product> many = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            many.add(new Product("prod" + i, "Product " + i, i));
+        }
+        return many;
+    }
+
+    @Test
+    @DisplayName("Should find products by id and name in large branches")
+    void shouldFindProductsInLargeBranches() {
+        Branch branch = new Branch("branch1", "Test Branch", manyProducts(LookupIndex.MIN_INDEXED_SIZE * 4));
+
+        assertEquals("Product 100", branch.findProductById("prod100").getName());
+        assertEquals("prod7", branch.findProductByName("Product 7").getId());
+        assertNull(branch.findProductById("missing"));
+        assertFalse(branch.existsProductByName(branch, "product 7"));
+    }
+
+    @Test
+    @DisplayName("Should notice products added straight to a large branch list")
+    void shouldNoticeDirectListChanges() {
+        Branch branch = new Branch("branch1", "Test Branch", manyProducts(LookupIndex.MIN_INDEXED_SIZE));
+        assertNull(branch.findProductById("direct"));
+
+        branch.getProducts().add(new Product("direct", "Direct Product", 1));
+        branch.getProducts().get(0).setName("Renamed Directly");
+
+        assertNotNull(branch.findProductById("direct"));
+        assertNull(branch.findProductByName("Product 0"));
+
+        branch.setProducts(manyProducts(LookupIndex.MIN_INDEXED_SIZE));
+        assertNull(branch.findProductById("direct"));
+    }
+}
@@ -0,0 +1,37 @@
+package co.com.bancolombia.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkItemResultTest {
+
+    @Test
+    @DisplayName("Should create successful results without error")
+    void shouldCreateSuccessfulResults() {
+        Product product = new Product("prod1", "Test Product", 10);
+
+        BulkItemResult<Product> created = BulkItemResult.created(product);
+        BulkItemResult<Product> updated = BulkItemResult.updated(product);
+
+        assertEquals(BulkItemResult.Status.CREATED, created.getStatus());
+        assertEquals(BulkItemResult.Status.UPDATED, updated.getStatus());
+        assertSame(product, created.getItem());
+        assertNull(created.getError());
+        assertFalse(created.isFailed());
+        assertFalse(updated.isFailed());
+    }
+
+    @Test
+    @DisplayName("Should create failed result with error")
+    void shouldCreateFailedResult() {
+        Product product = new Product(null, "", 10);
+
+        BulkItemResult<Product> failed = BulkItemResult.failed(product, "Product name is required");
+
+        assertEquals(BulkItemResult.Status.FAILED, failed.getStatus());
+        assertEquals("Product name is required", failed.getError());
+        assertTrue(failed.isFailed());
+    }
+}
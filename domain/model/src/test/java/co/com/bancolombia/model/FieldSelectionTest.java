@@ -0,0 +1,51 @@
+package co.com.bancolombia.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldSelectionTest {
+
+    @Test
+    @DisplayName("Should select every path when all fields are requested")
+    void shouldSelectEverything() {
+        FieldSelection all = FieldSelection.all();
+
+        assertTrue(all.isAll());
+        assertTrue(all.getPaths().isEmpty());
+        assertTrue(all.includes("branches.products.stock"));
+    }
+
+    @Test
+    @DisplayName("Should drop paths covered by a selected ancestor")
+    void shouldNormalizeNestedPaths() {
+        FieldSelection fields = FieldSelection.of(List.of(" name", "branches", "branches.name", ""));
+
+        assertFalse(fields.isAll());
+        assertEquals(Set.of("name", "branches"), fields.getPaths());
+        assertTrue(fields.includes("branches.products.name"));
+        assertFalse(fields.includes("id"));
+    }
+
+    @Test
+    @DisplayName("Should read a container when only a nested path is selected")
+    void shouldIncludeContainersOfNestedPaths() {
+        FieldSelection fields = FieldSelection.of(List.of("branches.products.name"));
+
+        assertTrue(fields.includesAny("branches"));
+        assertTrue(fields.includesAny("branches.products"));
+        assertFalse(fields.includes("branches"));
+        assertFalse(fields.includes("branches.name"));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown or empty selections")
+    void shouldRejectInvalidSelections() {
+        assertThrows(IllegalArgumentException.class, () -> FieldSelection.of(List.of("branches.address")));
+        assertThrows(IllegalArgumentException.class, () -> FieldSelection.of(List.of(" ")));
+    }
+}
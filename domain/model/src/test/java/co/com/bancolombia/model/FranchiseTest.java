@@ -387,4 +387,31 @@ class FranchiseTest {
         assertNotNull(franchise.findBranchById("branch1"));
         assertTrue(franchise.existsBranchByName("main branch"));
     }
-}
\ No newline at end of file
+
+    private static List<Branch> manyBranches(int count) {
+        List<Branch> many = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            many.add(new Branch("branch" + i, "Branch " + i, new ArrayList<>()));
+        }
+        return many;
+    }
+
+    @Test
+    @DisplayName("Should keep large franchise lookups in sync with branch list changes")
+    void shouldKeepLookupsInSyncWithBranchListChanges() {
+        Franchise franchise = new Franchise("franchise1", "Test Franchise", manyBranches(LookupIndex.MIN_INDEXED_SIZE * 2));
+        assertEquals("branch 40", franchise.findBranchById("branch40").getName());
+        assertTrue(franchise.existsBranchByName("branch 3"));
+
+        franchise.getBranches().add(new Branch("added", "Added Branch", new ArrayList<>()));
+        franchise.findBranchById("branch3").setName("renamed branch");
+
+        assertNotNull(franchise.findBranchById("added"));
+        assertTrue(franchise.existsBranchByName("added branch"));
+        assertTrue(franchise.existsBranchByName("renamed branch"));
+        assertFalse(franchise.existsBranchByName("branch 3"));
+
+        franchise.setBranches(manyBranches(LookupIndex.MIN_INDEXED_SIZE));
+        assertNull(franchise.findBranchById("added"));
+    }
+}
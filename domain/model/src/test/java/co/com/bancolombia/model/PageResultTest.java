@@ -0,0 +1,38 @@
+package co.com.bancolombia.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageResultTest {
+
+    @Test
+    @DisplayName("Should drop the extra item and use the last kept key as cursor")
+    void shouldBuildPageFromOverfetchedItems() {
+        List<Product> products = List.of(
+                new Product("prod1", "product 1", 1),
+                new Product("prod2", "product 2", 2),
+                new Product("prod3", "product 3", 3));
+
+        PageResult<Product> page = PageResult.fromOverfetched(products, 2, Product::getId);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals("prod2", page.getNextCursor());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    @DisplayName("Should mark the last page without cursor")
+    void shouldBuildLastPage() {
+        List<Product> products = List.of(new Product("prod1", "product 1", 1));
+
+        PageResult<Product> page = PageResult.fromOverfetched(products, 2, Product::getId);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+        assertFalse(page.hasNext());
+    }
+}
@@ -1,7 +0,0 @@
-package co.com.bancolombia.usecase.exceptions;
-
-public class DuplicateFranchiseException extends RuntimeException {
-    public DuplicateFranchiseException(String message) {
-        super("Franchise with name <" + message + "> already exists");
-    }
-}
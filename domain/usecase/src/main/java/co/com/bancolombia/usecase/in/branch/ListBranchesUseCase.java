@@ -0,0 +1,9 @@
+package co.com.bancolombia.usecase.in.branch;
+
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.PageResult;
+import reactor.core.publisher.Mono;
+
+public interface ListBranchesUseCase {
+    Mono<PageResult<Branch>> listBranches(String franchiseId, String cursor, int size);
+}
@@ -0,0 +1,9 @@
+package co.com.bancolombia.usecase.in.franchise;
+
+import co.com.bancolombia.model.FieldSelection;
+import co.com.bancolombia.model.Franchise;
+import reactor.core.publisher.Flux;
+
+public interface ExportFranchisesUseCase {
+    Flux<Franchise> exportFranchises(String namePrefix, int batchSize, FieldSelection fields);
+}
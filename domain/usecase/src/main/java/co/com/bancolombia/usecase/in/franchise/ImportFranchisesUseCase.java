@@ -0,0 +1,11 @@
+package co.com.bancolombia.usecase.in.franchise;
+
+import co.com.bancolombia.model.BulkItemResult;
+import co.com.bancolombia.model.Franchise;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+public interface ImportFranchisesUseCase {
+    Flux<BulkItemResult<Franchise>> importFranchises(List<Franchise> franchises);
+}
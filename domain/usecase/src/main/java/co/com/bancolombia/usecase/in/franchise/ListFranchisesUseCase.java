@@ -0,0 +1,10 @@
+package co.com.bancolombia.usecase.in.franchise;
+
+import co.com.bancolombia.model.FieldSelection;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.PageResult;
+import reactor.core.publisher.Mono;
+
+public interface ListFranchisesUseCase {
+    Mono<PageResult<Franchise>> listFranchises(String cursor, int size, FieldSelection fields);
+}
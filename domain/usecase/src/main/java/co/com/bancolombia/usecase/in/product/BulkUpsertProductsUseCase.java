@@ -0,0 +1,11 @@
+package co.com.bancolombia.usecase.in.product;
+
+import co.com.bancolombia.model.BulkItemResult;
+import co.com.bancolombia.model.Product;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+public interface BulkUpsertProductsUseCase {
+    Flux<BulkItemResult<Product>> upsertProducts(String franchiseId, String branchId, List<Product> products);
+}
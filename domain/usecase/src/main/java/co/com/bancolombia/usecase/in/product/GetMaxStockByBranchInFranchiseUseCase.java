@@ -1,8 +1,13 @@
 package co.com.bancolombia.usecase.in.product;
 
 import co.com.bancolombia.model.Franchise;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface GetMaxStockByBranchInFranchiseUseCase {
     Mono<Franchise> getMaxStockByBranchInFranchise(String franchiseId);
+
+    Flux<Franchise> getMaxStockByBranchInFranchises(List<String> franchiseIds);
 }
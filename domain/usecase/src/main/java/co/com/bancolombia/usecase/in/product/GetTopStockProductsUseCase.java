@@ -0,0 +1,10 @@
+package co.com.bancolombia.usecase.in.product;
+
+import co.com.bancolombia.model.Product;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface GetTopStockProductsUseCase {
+    Mono<List<Product>> getTopStockProducts(String franchiseId, String branchId, int k);
+}
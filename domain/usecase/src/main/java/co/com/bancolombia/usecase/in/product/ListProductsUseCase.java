@@ -0,0 +1,9 @@
+package co.com.bancolombia.usecase.in.product;
+
+import co.com.bancolombia.model.PageResult;
+import co.com.bancolombia.model.Product;
+import reactor.core.publisher.Mono;
+
+public interface ListProductsUseCase {
+    Mono<PageResult<Product>> listProducts(String franchiseId, String branchId, String cursor, int size);
+}
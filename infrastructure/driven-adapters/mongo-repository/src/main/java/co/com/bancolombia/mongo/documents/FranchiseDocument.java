@@ -22,4 +22,10 @@ public class FranchiseDocument {
     private String name;
 
     private List<BranchDocument> branches;
+
+    private Long version;
+
+    public FranchiseDocument(String id, String name, List<BranchDocument> branches) {
+        this(id, name, branches, null);
+    }
 }
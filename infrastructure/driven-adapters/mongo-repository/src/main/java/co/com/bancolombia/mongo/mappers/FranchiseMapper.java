@@ -22,10 +22,10 @@ public class FranchiseMapper {
                 .map(FranchiseMapper::toBranchDocument)
                 .collect(Collectors.toCollection(ArrayList::new));
 
-        return new FranchiseDocument(franchise.getId(), franchise.getName(), branches);
+        return new FranchiseDocument(franchise.getId(), franchise.getName(), branches, franchise.getVersion());
     }
 
-    private static BranchDocument toBranchDocument(Branch branch) {
+    public static BranchDocument toBranchDocument(Branch branch) {
         List<ProductDocument> products = branch.getProducts() == null
                 ? new ArrayList<>()
                 : branch.getProducts().stream()
@@ -34,28 +34,27 @@ public class FranchiseMapper {
         return new BranchDocument(branch.getId(), branch.getName(), products);
     }
 
-    private static ProductDocument toProductDocument(Product product) {
+    public static ProductDocument toProductDocument(Product product) {
         return new ProductDocument(product.getId(), product.getName(), product.getStock());
     }
 
     public static Franchise toDomain(FranchiseDocument franchise) {
         log.debug("Converting Franchise Document to Franchise.");
         List<Branch> branches = franchise.getBranches() == null
-                ? new ArrayList<>()
-                : franchise.getBranches().stream().map(FranchiseMapper::toBranchDomain)
-                .collect(Collectors.toCollection(ArrayList::new));
+                ? List.of()
+                : franchise.getBranches().stream().map(FranchiseMapper::toBranchDomain).toList();
 
-        return new Franchise(franchise.getId(), franchise.getName(), branches);
+        return new Franchise(franchise.getId(), franchise.getName(), branches, franchise.getVersion());
     }
 
-    private static Branch toBranchDomain(BranchDocument branchDocument) {
+    public static Branch toBranchDomain(BranchDocument branchDocument) {
         List<Product> products = branchDocument.getProducts() == null
-                ? new ArrayList<>()
-                : branchDocument.getProducts().stream().map(FranchiseMapper::toProductDomain).collect(Collectors.toCollection(ArrayList::new));
+                ? List.of()
+                : branchDocument.getProducts().stream().map(FranchiseMapper::toProductDomain).toList();
         return new Branch(branchDocument.getId(), branchDocument.getName(), products);
     }
 
-    private static Product toProductDomain(ProductDocument productDocument) {
+    public static Product toProductDomain(ProductDocument productDocument) {
         return new Product(productDocument.getId(), productDocument.getName(), productDocument.getStock());
     }
 
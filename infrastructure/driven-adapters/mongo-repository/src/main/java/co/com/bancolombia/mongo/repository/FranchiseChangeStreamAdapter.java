@@ -0,0 +1,171 @@
+package co.com.bancolombia.mongo.repository;
+
+import co.com.bancolombia.model.gateway.FranchiseChange;
+import co.com.bancolombia.model.gateway.FranchiseChangeFeed;
+import com.mongodb.MongoException;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Follows the franchises collection through a MongoDB change stream (which needs a replica set, a single-node one is
+ * enough) and turns every write into a {@link FranchiseChange}. Only the operation type and the document key of each
+ * event are read.
+ * <p>
+ * The resume token of the last event is kept in memory, so a broken stream is reopened right after it, and is
+ * checkpointed to the {@value #CHECKPOINTS} collection under this instance's consumer name at most once per
+ * checkpoint interval, so a restarted instance starts after the last checkpoint. When there is no token to start
+ * from, or the oplog no longer reaches back to it, {@link FranchiseChange#everything()} is emitted first.
+ */
+@Slf4j
+@Component
+public class FranchiseChangeStreamAdapter implements FranchiseChangeFeed {
+
+    static final String CHECKPOINTS = "changeStreamCheckpoints";
+    private static final String FRANCHISES = "franchises";
+    private static final String ID = "_id";
+    private static final String TOKEN = "token";
+    private static final String UPDATED_AT = "updatedAt";
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final String consumerName;
+    private final long checkpointIntervalNanos;
+    private final AtomicReference<BsonValue> resumeToken = new AtomicReference<>();
+    private volatile long lastCheckpointNanos;
+
+    public FranchiseChangeStreamAdapter(
+            ReactiveMongoTemplate mongoTemplate,
+            @Value("${franchise.change-stream.consumer-name:${HOSTNAME:local}}") String consumerName,
+            @Value("${franchise.change-stream.checkpoint-interval:5s}") Duration checkpointInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.consumerName = consumerName;
+        this.checkpointIntervalNanos = checkpointInterval.toNanos();
+        this.lastCheckpointNanos = System.nanoTime() - checkpointIntervalNanos;
+    }
+
+    @Override
+    public Flux<FranchiseChange> franchiseChanges() {
+        return Flux.defer(this::watch)
+                .repeat()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, MIN_BACKOFF)
+                        .maxBackoff(MAX_BACKOFF)
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> log.warn("Franchise change stream failed, reopening it: {}",
+                                signal.failure().toString())));
+    }
+
+    private Flux<FranchiseChange> watch() {
+        return Mono.justOrEmpty(resumeToken.get())
+                .switchIfEmpty(loadCheckpoint())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMapMany(token -> token
+                        .map(this::changesAfter)
+                        .orElseGet(() -> Flux.just(FranchiseChange.everything()).concatWith(changesAfter(null))))
+                .onErrorResume(FranchiseChangeStreamAdapter::isHistoryLost, error -> {
+                    log.warn("Franchise change stream cannot resume after its token, starting over: {}", error.toString());
+                    resumeToken.set(null);
+                    return deleteCheckpoint().thenMany(Flux.defer(this::watch));
+                });
+    }
+
+    private Flux<FranchiseChange> changesAfter(BsonValue token) {
+        ChangeStreamOptions.ChangeStreamOptionsBuilder options = ChangeStreamOptions.builder()
+                .filter(Aggregation.newAggregation(Aggregation.project("operationType", "documentKey")));
+        if (token != null) {
+            options.startAfter(token);
+        }
+        log.info("Watching Franchise changes {}", token == null ? "from now on" : "after the last known event");
+
+        return this.mongoTemplate
+                .changeStream(FRANCHISES, options.build(), Document.class)
+                .doOnNext(event -> Optional.ofNullable(event.getResumeToken()).ifPresent(resumeToken::set))
+                .concatMap(event -> Mono.justOrEmpty(toChange(event))
+                        .concatWith(checkpointIfDue(event.getResumeToken()).then(Mono.<FranchiseChange>empty())));
+    }
+
+    private static Optional<FranchiseChange> toChange(ChangeStreamEvent<Document> event) {
+        OperationType operation = event.getOperationType();
+        if (operation == null) {
+            return Optional.empty();
+        }
+        return switch (operation) {
+            case INSERT, UPDATE, REPLACE, DELETE -> Optional.ofNullable(event.getRaw())
+                    .map(ChangeStreamDocument::getDocumentKey)
+                    .map(documentKey -> documentKey.get(ID))
+                    .map(FranchiseChangeStreamAdapter::franchiseId)
+                    .map(FranchiseChange::of);
+            case DROP, RENAME, DROP_DATABASE, INVALIDATE -> Optional.of(FranchiseChange.everything());
+            default -> Optional.empty();
+        };
+    }
+
+    private static String franchiseId(BsonValue id) {
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+
+    /**
+     * Checkpoint failures are only logged: they cost a longer replay after a restart, never a missed change.
+     */
+    private Mono<Void> checkpointIfDue(BsonValue token) {
+        long now = System.nanoTime();
+        if (token == null || now - lastCheckpointNanos < checkpointIntervalNanos) {
+            return Mono.empty();
+        }
+        lastCheckpointNanos = now;
+        Update update = Update.update(TOKEN, Document.parse(token.asDocument().toJson())).currentDate(UPDATED_AT);
+        return this.mongoTemplate
+                .upsert(Query.query(where(ID).is(consumerName)), update, CHECKPOINTS)
+                .doOnError(error -> log.warn("Could not checkpoint the Franchise change stream: {}", error.toString()))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    private Mono<BsonValue> loadCheckpoint() {
+        return this.mongoTemplate
+                .findById(consumerName, Document.class, CHECKPOINTS)
+                .mapNotNull(checkpoint -> checkpoint.get(TOKEN, Document.class))
+                .<BsonValue>map(token -> BsonDocument.parse(token.toJson()));
+    }
+
+    private Mono<Void> deleteCheckpoint() {
+        return this.mongoTemplate
+                .remove(Query.query(where(ID).is(consumerName)), CHECKPOINTS)
+                .then();
+    }
+
+    private static boolean isHistoryLost(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongoException && mongoException.getCode() == CHANGE_STREAM_HISTORY_LOST) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
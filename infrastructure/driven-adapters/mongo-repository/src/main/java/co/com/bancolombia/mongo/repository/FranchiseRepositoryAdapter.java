@@ -1,37 +1,559 @@
 package co.com.bancolombia.mongo.repository;
 
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.BulkItemResult;
+import co.com.bancolombia.model.FieldSelection;
 import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.PageResult;
+import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.DuplicateFranchiseException;
 import co.com.bancolombia.model.gateway.FranchiseRepositoryPort;
+import co.com.bancolombia.model.gateway.FranchiseStoreUnavailableException;
+import co.com.bancolombia.model.gateway.UnknownFranchiseException;
 import co.com.bancolombia.mongo.FranchiseMongoRepository;
+import co.com.bancolombia.mongo.documents.BranchDocument;
+import co.com.bancolombia.mongo.documents.FranchiseDocument;
+import co.com.bancolombia.mongo.documents.ProductDocument;
 import co.com.bancolombia.mongo.mappers.FranchiseMapper;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
 @Slf4j
 @Repository
 public class FranchiseRepositoryAdapter implements FranchiseRepositoryPort {
 
+    private static final String ID = "_id";
+    private static final String VERSION = "version";
+    private static final long INITIAL_VERSION = 0L;
+    private static final String FRANCHISE_NOT_STORED = "Franchise could not be stored";
+    private static final String NAME = "name";
+    private static final String BRANCHES = "branches";
+    private static final String PRODUCTS = "products";
+    private static final String BRANCHES_ID = "branches._id";
+    private static final String BRANCHES_NAME = "branches.name";
+    private static final String PRODUCTS_ID = "products._id";
+    private static final String PRODUCTS_NAME = "products.name";
+    private static final String BRANCH_FILTER_ID = "b._id";
+    private static final String PRODUCT_FILTER_ID = "p._id";
+    private static final String FILTERED_BRANCH_NAME = "branches.$[b].name";
+    private static final String FILTERED_BRANCH_PRODUCTS = "branches.$[b].products";
+    private static final String FILTERED_PRODUCT = "branches.$[b].products.$[p]";
+
     private final FranchiseMongoRepository franchiseMongoRepository;
+    private final ReactiveMongoTemplate mongoTemplate;
 
-    public FranchiseRepositoryAdapter(FranchiseMongoRepository franchiseMongoRepository) {
+    public FranchiseRepositoryAdapter(FranchiseMongoRepository franchiseMongoRepository, ReactiveMongoTemplate mongoTemplate) {
         this.franchiseMongoRepository = franchiseMongoRepository;
+        this.mongoTemplate = mongoTemplate;
     }
 
     @Override
     public Mono<Franchise> save(Franchise franchise) {
-        return this.franchiseMongoRepository
-                .save(FranchiseMapper.toDocument(franchise))
-                .map(FranchiseMapper::toDomain);
+        FranchiseDocument document = FranchiseMapper.toDocument(franchise);
+        if (document.getId() == null) {
+            document.setVersion(INITIAL_VERSION);
+            return translated(this.mongoTemplate.insert(document).map(FranchiseMapper::toDomain));
+        }
+
+        Long expectedVersion = document.getVersion();
+        document.setVersion(expectedVersion == null ? INITIAL_VERSION + 1 : expectedVersion + 1);
+        Query query = Query.query(where(ID).is(document.getId()).and(VERSION).is(expectedVersion));
+
+        return translated(this.mongoTemplate
+                .findAndReplace(query, document, FindAndReplaceOptions.options().returnNew())
+                .doOnSuccess(saved -> {
+                    if (saved == null) {
+                        log.warn("Franchise {} was modified after version {} was read", document.getId(), expectedVersion);
+                    }
+                })
+                .map(FranchiseMapper::toDomain));
     }
 
     @Override
     public Mono<Franchise> findById(String id) {
         log.info("Find Franchise by id {}", id);
-        return this.franchiseMongoRepository
+        return translated(this.franchiseMongoRepository
                 .findById(id)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise with id <" + id + "> not found!")))
-                .map(FranchiseMapper::toDomain);
+                .switchIfEmpty(franchiseNotFound(id))
+                .map(FranchiseMapper::toDomain));
+    }
+
+    @Override
+    public Flux<Franchise> findAll(String namePrefix, int batchSize, FieldSelection fields) {
+        log.info("Stream Franchises with name prefix {} in batches of {}", namePrefix, batchSize);
+        Query query = namePrefix == null
+                ? new Query()
+                : Query.query(where(NAME).regex("^" + Pattern.quote(namePrefix)));
+        query.with(Sort.by(ID)).cursorBatchSize(batchSize);
+        project(query, fields);
+
+        return translated(this.mongoTemplate
+                .find(query, FranchiseDocument.class)
+                .map(FranchiseMapper::toDomain));
+    }
+
+    @Override
+    public Mono<PageResult<Franchise>> findPage(String afterId, int size, FieldSelection fields) {
+        log.info("Find page of {} Franchises after id {}", size, afterId);
+        if (afterId != null && !ObjectId.isValid(afterId)) {
+            return Mono.error(new IllegalArgumentException("Invalid cursor " + afterId));
+        }
+
+        Query query = afterId == null
+                ? new Query()
+                : Query.query(where(ID).gt(new ObjectId(afterId)));
+        query.with(Sort.by(ID)).limit(size + 1);
+        project(query, fields);
+
+        return translated(this.mongoTemplate
+                .find(query, FranchiseDocument.class)
+                .map(FranchiseMapper::toDomain)
+                .collectList()
+                .map(franchises -> PageResult.fromOverfetched(franchises, size, Franchise::getId)));
+    }
+
+    @Override
+    public Mono<PageResult<Branch>> findBranchPage(String franchiseId, int offset, int size) {
+        log.info("Find page of {} Branches of Franchise {} at {}", size, franchiseId, offset);
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(where(ID).is(franchiseId)),
+                context -> new Document("$project", new Document(BRANCHES, new Document("$map",
+                        new Document("input", slice(ifNull("$" + BRANCHES), offset, size))
+                                .append("as", "b")
+                                .append("in", new Document(ID, "$$b._id").append(NAME, "$$b.name")))))
+        );
+
+        return translated(this.mongoTemplate
+                .aggregate(aggregation, FranchiseDocument.class, FranchiseDocument.class)
+                .next()
+                .switchIfEmpty(franchiseNotFound(franchiseId))
+                .map(document -> Optional.ofNullable(document.getBranches()).orElseGet(List::of).stream()
+                        .map(FranchiseMapper::toBranchDomain)
+                        .toList())
+                .map(branches -> offsetPage(branches, offset, size)));
+    }
+
+    @Override
+    public Mono<PageResult<Product>> findProductPage(String franchiseId, String branchId, int offset, int size) {
+        log.info("Find page of {} Products of Branch {} in Franchise {} at {}", size, branchId, franchiseId, offset);
+        Document matchingBranch = new Document("$filter", new Document("input", ifNull("$" + BRANCHES))
+                .append("as", "b")
+                .append("cond", new Document("$eq", List.of("$$b._id", branchId))));
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(where(ID).is(franchiseId)),
+                context -> new Document("$project", new Document(BRANCHES, new Document("$map",
+                        new Document("input", matchingBranch)
+                                .append("as", "b")
+                                .append("in", new Document(ID, "$$b._id")
+                                        .append(PRODUCTS, slice(ifNull("$$b.products"), offset, size))))))
+        );
+
+        return translated(this.mongoTemplate
+                .aggregate(aggregation, FranchiseDocument.class, FranchiseDocument.class)
+                .next()
+                .switchIfEmpty(franchiseNotFound(franchiseId))
+                .flatMap(document -> Mono.justOrEmpty(findBranch(document, branchId)))
+                .map(FranchiseMapper::toBranchDomain)
+                .map(branch -> offsetPage(branch.getProducts(), offset, size)));
+    }
+
+    @Override
+    public Mono<List<Product>> findTopStockProducts(String franchiseId, String branchId, int k) {
+        log.info("Find top {} stock Products of Branch {} in Franchise {}", k, branchId, franchiseId);
+        Document matchingBranch = new Document("$filter", new Document("input", ifNull("$" + BRANCHES))
+                .append("as", "b")
+                .append("cond", new Document("$eq", List.of("$$b._id", branchId))));
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(where(ID).is(franchiseId)),
+                context -> new Document("$project", new Document(BRANCHES, new Document("$map",
+                        new Document("input", matchingBranch)
+                                .append("as", "b")
+                                .append("in", new Document(ID, "$$b._id")
+                                        .append(PRODUCTS, topStockProducts("$$b.products", k))))))
+        );
+
+        return translated(this.mongoTemplate
+                .aggregate(aggregation, FranchiseDocument.class, FranchiseDocument.class)
+                .next()
+                .switchIfEmpty(franchiseNotFound(franchiseId))
+                .flatMap(document -> Mono.justOrEmpty(findBranch(document, branchId)))
+                .map(FranchiseMapper::toBranchDomain)
+                .map(Branch::getProducts));
+    }
+
+    /**
+     * Inserts copies of the given franchises, so the caller's objects never get ids for documents that were not stored.
+     * A failed item only reports a duplicate name; other write errors are logged and reported with a generic message.
+     */
+    @Override
+    public Flux<BulkItemResult<Franchise>> insertAll(List<Franchise> franchises) {
+        log.info("Insert {} Franchises", franchises.size());
+        List<Franchise> stored = new ArrayList<>(franchises.size());
+        List<Document> documents = new ArrayList<>(franchises.size());
+        for (Franchise franchise : franchises) {
+            Franchise copy = new Franchise(
+                    new ObjectId().toHexString(), franchise.getName(), franchise.getBranches(), INITIAL_VERSION);
+            Document document = new Document();
+            this.mongoTemplate.getConverter().write(FranchiseMapper.toDocument(copy), document);
+            stored.add(copy);
+            documents.add(document);
+        }
+
+        return translated(this.mongoTemplate
+                .getCollection(this.mongoTemplate.getCollectionName(FranchiseDocument.class))
+                .flatMap(collection -> Mono.from(collection.insertMany(documents, new InsertManyOptions().ordered(false))))
+                .map(result -> Map.<Integer, String>of())
+                .onErrorResume(MongoBulkWriteException.class, e -> Mono.just(e.getWriteErrors().stream()
+                        .collect(Collectors.toMap(BulkWriteError::getIndex,
+                                error -> insertError(franchises.get(error.getIndex()), error)))))
+                .flatMapMany(errors -> Flux.range(0, franchises.size())
+                        .map(index -> errors.containsKey(index)
+                                ? BulkItemResult.failed(franchises.get(index), errors.get(index))
+                                : BulkItemResult.created(stored.get(index)))));
+    }
+
+    private static String insertError(Franchise franchise, BulkWriteError error) {
+        if (ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+            return new DuplicateFranchiseException(franchise.getName()).getMessage();
+        }
+        log.error("Franchise {} was not inserted: {}", franchise.getName(), error.getMessage());
+        return FRANCHISE_NOT_STORED;
+    }
+
+    @Override
+    public Mono<Franchise> findWithMaxStockProductPerBranch(String franchiseId) {
+        log.info("Find max stock Product per Branch of Franchise {}", franchiseId);
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(where(ID).is(franchiseId)),
+                context -> maxStockProjection()
+        );
+
+        return translated(this.mongoTemplate
+                .aggregate(aggregation, FranchiseDocument.class, FranchiseDocument.class)
+                .next()
+                .switchIfEmpty(franchiseNotFound(franchiseId))
+                .map(FranchiseMapper::toDomain));
+    }
+
+    @Override
+    public Flux<Franchise> findAllWithMaxStockProductPerBranch(List<String> franchiseIds) {
+        log.info("Find max stock Product per Branch of {} Franchises", franchiseIds.size());
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(where(ID).in(franchiseIds)),
+                context -> maxStockProjection()
+        );
+
+        return translated(this.mongoTemplate
+                .aggregate(aggregation, FranchiseDocument.class, FranchiseDocument.class)
+                .map(FranchiseMapper::toDomain));
+    }
+
+    @Override
+    public Mono<Franchise> findByIdWithBranch(String franchiseId, String branchId) {
+        log.info("Find Branch {} of Franchise {}", branchId, franchiseId);
+        Query query = Query.query(where(ID).is(franchiseId));
+        query.fields().include(NAME, VERSION).elemMatch(BRANCHES, where(ID).is(branchId));
+
+        return translated(this.mongoTemplate
+                .findOne(query, FranchiseDocument.class)
+                .switchIfEmpty(franchiseNotFound(franchiseId))
+                .map(FranchiseMapper::toDomain));
+    }
+
+    @Override
+    public Mono<Franchise> renameFranchise(String franchiseId, String name) {
+        log.info("Rename Franchise {} to {}", franchiseId, name);
+        Query query = Query.query(where(ID).is(franchiseId));
+        query.fields().exclude(BRANCHES);
+        Update update = new Update().set(NAME, name).inc(VERSION, 1);
+
+        return translated(this.mongoTemplate
+                .findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), FranchiseDocument.class)
+                .onErrorMap(DuplicateKeyException.class, e -> new DuplicateFranchiseException(name))
+                .map(FranchiseMapper::toDomain));
+    }
+
+    @Override
+    public Mono<Branch> renameBranch(String franchiseId, String branchId, String name) {
+        log.info("Rename Branch {} of Franchise {} to {}", branchId, franchiseId, name);
+        Query query = Query.query(where(ID).is(franchiseId).and(BRANCHES_ID).is(branchId).and(BRANCHES_NAME).ne(name));
+        query.fields().elemMatch(BRANCHES, where(ID).is(branchId));
+        Update update = new Update()
+                .set(FILTERED_BRANCH_NAME, name)
+                .inc(VERSION, 1)
+                .filterArray(BRANCH_FILTER_ID, branchId);
+
+        return translated(this.mongoTemplate
+                .findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), FranchiseDocument.class)
+                .flatMap(document -> Mono.justOrEmpty(findBranch(document, branchId)))
+                .map(FranchiseMapper::toBranchDomain));
+    }
+
+    @Override
+    public Mono<Branch> addBranchToFranchise(String franchiseId, Branch branch) {
+        log.info("Add Branch {} to Franchise {}", branch.getName(), franchiseId);
+        Update update = new Update()
+                .push(BRANCHES, FranchiseMapper.toBranchDocument(branch))
+                .inc(VERSION, 1);
+        Query query = Query.query(where(ID).is(franchiseId).and(BRANCHES_NAME).ne(branch.getName()));
+
+        return translated(this.mongoTemplate
+                .updateFirst(query, update, FranchiseDocument.class)
+                .filter(result -> result.getModifiedCount() > 0)
+                .map(result -> branch));
+    }
+
+    @Override
+    public Mono<Product> addProductToBranch(String franchiseId, String branchId, Product product) {
+        log.info("Add Product {} to Branch {} of Franchise {}", product.getName(), branchId, franchiseId);
+        return translated(this.mongoTemplate
+                .updateFirst(newProductQuery(franchiseId, branchId, product.getName()), pushProduct(branchId, product),
+                        FranchiseDocument.class)
+                .filter(result -> result.getModifiedCount() > 0)
+                .map(result -> product));
+    }
+
+    @Override
+    public Mono<Product> updateProductInBranch(String franchiseId, String branchId, String productId, String name, int stockIncrement) {
+        log.info("Update Product {} in Branch {} of Franchise {}", productId, branchId, franchiseId);
+        Update update = new Update()
+                .inc(FILTERED_PRODUCT + ".stock", stockIncrement)
+                .inc(VERSION, 1)
+                .filterArray(BRANCH_FILTER_ID, branchId)
+                .filterArray(PRODUCT_FILTER_ID, productId);
+        if (name != null) {
+            update.set(FILTERED_PRODUCT + ".name", name);
+        }
+
+        Query query = productQuery(franchiseId, branchId, productId, name);
+        query.fields().elemMatch(BRANCHES, where(ID).is(branchId));
+
+        return translated(this.mongoTemplate
+                .findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), FranchiseDocument.class)
+                .flatMap(document -> Mono.justOrEmpty(findProduct(document, productId)))
+                .map(FranchiseMapper::toProductDomain));
+    }
+
+    @Override
+    public Mono<Product> incrementProductStock(String franchiseId, String branchId, String productId, int increment) {
+        return updateProductInBranch(franchiseId, branchId, productId, null, increment);
+    }
+
+    @Override
+    public Mono<Boolean> upsertBranchProducts(String franchiseId, String branchId, List<Product> updated, List<Product> created) {
+        log.info("Upsert {} updated and {} created Products of Branch {} in Franchise {}",
+                updated.size(), created.size(), branchId, franchiseId);
+        ReactiveBulkOperations operations = this.mongoTemplate.bulkOps(BulkMode.UNORDERED, FranchiseDocument.class);
+        updated.forEach(product -> operations.updateOne(
+                productQuery(franchiseId, branchId, product.getId(), product.getName()),
+                new Update()
+                        .set(FILTERED_PRODUCT + ".name", product.getName())
+                        .set(FILTERED_PRODUCT + ".stock", product.getStock())
+                        .inc(VERSION, 1)
+                        .filterArray(BRANCH_FILTER_ID, branchId)
+                        .filterArray(PRODUCT_FILTER_ID, product.getId())));
+        created.forEach(product -> operations.updateOne(
+                newProductQuery(franchiseId, branchId, product.getName()), pushProduct(branchId, product)));
+
+        return translated(operations.execute()
+                .map(result -> result.getMatchedCount() == updated.size() + created.size()));
+    }
+
+    @Override
+    public Mono<Boolean> removeProductFromBranch(String franchiseId, String branchId, String productId) {
+        log.info("Remove Product {} from Branch {} of Franchise {}", productId, branchId, franchiseId);
+        Update update = new Update()
+                .pull(FILTERED_BRANCH_PRODUCTS, new Document(ID, productId))
+                .inc(VERSION, 1)
+                .filterArray(BRANCH_FILTER_ID, branchId);
+
+        return translated(this.mongoTemplate
+                .updateFirst(productQuery(franchiseId, branchId, productId), update, FranchiseDocument.class)
+                .map(result -> result.getModifiedCount() > 0));
+    }
+
+    private static Document maxStockProjection() {
+        return new Document("$project", new Document(NAME, 1)
+                .append(VERSION, 1)
+                .append(BRANCHES, new Document("$map", new Document("input", ifNull("$" + BRANCHES))
+                        .append("as", "b")
+                        .append("in", new Document(ID, "$$b._id")
+                                .append(NAME, "$$b.name")
+                                .append(PRODUCTS, maxStockProduct("$$b.products"))))));
+    }
+
+    /**
+     * Folds a products array into a single-element array holding the first product with the highest stock,
+     * or an empty array when there are no products. A null or missing stock ranks below any other.
+     */
+    private static Document maxStockProduct(String products) {
+        Document maxStock = stockOrNull(new Document("$arrayElemAt", List.of("$$value.stock", 0)));
+        Document isHigherStock = new Document("$or", List.of(
+                new Document("$eq", List.of(new Document("$size", "$$value"), 0)),
+                new Document("$gt", List.of(stockOrNull("$$this.stock"), maxStock))
+        ));
+        return new Document("$reduce", new Document("input", ifNull(products))
+                .append("initialValue", List.of())
+                .append("in", new Document("$cond", List.of(isHigherStock, List.of("$$this"), "$$value"))));
+    }
+
+    /**
+     * Folds a products array into its first {@code k} products by stock, highest first. Each product is inserted after
+     * the kept ones with the same or a higher stock, so ties keep the branch order and a missing stock ranks lowest.
+     * Sticks to operators MongoDB 5.0 supports, which has no {@code $sortArray}.
+     */
+    private static Document topStockProducts(String products, int k) {
+        Document stock = stockOrNull("$$this.stock");
+        Document keptStock = stockOrNull("$$kept.stock");
+        Document ranked = new Document("$concatArrays", List.of(
+                keptWhere(new Document("$gte", List.of(keptStock, stock))),
+                List.of("$$this"),
+                keptWhere(new Document("$lt", List.of(keptStock, stock)))));
+        return new Document("$reduce", new Document("input", ifNull(products))
+                .append("initialValue", List.of())
+                .append("in", new Document("$slice", List.of(ranked, k))));
+    }
+
+    private static Document keptWhere(Document condition) {
+        return new Document("$filter", new Document("input", "$$value")
+                .append("as", "kept")
+                .append("cond", condition));
+    }
+
+    /**
+     * Reads a missing stock as null, so both compare the same way: below any number and equal to each other.
+     */
+    private static Document stockOrNull(Object stock) {
+        return new Document("$ifNull", Arrays.asList(stock, null));
+    }
+
+    /**
+     * Takes one element more than {@code size} starting at {@code offset}, so the caller can tell whether another page
+     * follows without a second query.
+     */
+    private static Document slice(Document array, int offset, int size) {
+        return new Document("$slice", List.of(array, offset, size + 1));
+    }
+
+    private static <T> PageResult<T> offsetPage(List<T> items, int offset, int size) {
+        return items.size() > size
+                ? PageResult.of(items.subList(0, size), String.valueOf(offset + size))
+                : PageResult.of(items, null);
+    }
+
+    /**
+     * Restricts the query to the selected fields, translating each domain path ({@code branches.products.id}) to its
+     * document path ({@code branches.products._id}).
+     */
+    private static void project(Query query, FieldSelection fields) {
+        fields.getPaths().stream()
+                .map(path -> Arrays.stream(path.split("\\."))
+                        .map(segment -> "id".equals(segment) ? ID : segment)
+                        .collect(Collectors.joining(".")))
+                .forEach(query.fields()::include);
+    }
+
+    private static Document ifNull(String array) {
+        return new Document("$ifNull", List.of(array, List.of()));
+    }
+
+    /**
+     * Reports a database that could not be reached or did not answer in time as
+     * {@link FranchiseStoreUnavailableException}, keeping driver and Spring exception types out of the callers.
+     */
+    private static <T> Mono<T> translated(Mono<T> call) {
+        return call.onErrorMap(FranchiseRepositoryAdapter::isUnavailable, FranchiseStoreUnavailableException::new);
+    }
+
+    private static <T> Flux<T> translated(Flux<T> call) {
+        return call.onErrorMap(FranchiseRepositoryAdapter::isUnavailable, FranchiseStoreUnavailableException::new);
+    }
+
+    private static boolean isUnavailable(Throwable error) {
+        return error instanceof DataAccessResourceFailureException
+                || error instanceof MongoSocketException
+                || error instanceof MongoTimeoutException;
+    }
+
+    private static <T> Mono<T> franchiseNotFound(String id) {
+        return Mono.error(() -> new UnknownFranchiseException(id));
+    }
+
+    private static Optional<BranchDocument> findBranch(FranchiseDocument document, String branchId) {
+        return Optional.ofNullable(document.getBranches()).orElseGet(List::of).stream()
+                .filter(branch -> branchId.equals(branch.getId()))
+                .findFirst();
+    }
+
+    private static Optional<ProductDocument> findProduct(FranchiseDocument document, String productId) {
+        return Optional.ofNullable(document.getBranches()).orElseGet(List::of).stream()
+                .filter(branch -> branch.getProducts() != null)
+                .flatMap(branch -> branch.getProducts().stream())
+                .filter(product -> productId.equals(product.getId()))
+                .findFirst();
+    }
+
+    private static Query productQuery(String franchiseId, String branchId, String productId) {
+        return productQuery(franchiseId, branchId, productId, null);
+    }
+
+    /**
+     * Matches the franchise while the branch has the product and, when {@code name} is given, no other product with
+     * that name.
+     */
+    private static Query productQuery(String franchiseId, String branchId, String productId, String name) {
+        Criteria branch = where(ID).is(branchId).and(PRODUCTS_ID).is(productId);
+        if (name != null) {
+            branch = branch.and(PRODUCTS).not().elemMatch(where(NAME).is(name).and(ID).ne(productId));
+        }
+        return Query.query(where(ID).is(franchiseId).and(BRANCHES).elemMatch(branch));
+    }
+
+    /**
+     * Matches the franchise while the branch has no product with the given name.
+     */
+    private static Query newProductQuery(String franchiseId, String branchId, String name) {
+        return Query.query(where(ID).is(franchiseId)
+                .and(BRANCHES).elemMatch(where(ID).is(branchId).and(PRODUCTS_NAME).ne(name)));
+    }
+
+    private static Update pushProduct(String branchId, Product product) {
+        return new Update()
+                .push(FILTERED_BRANCH_PRODUCTS, FranchiseMapper.toProductDocument(product))
+                .inc(VERSION, 1)
+                .filterArray(BRANCH_FILTER_ID, branchId);
     }
 
 }
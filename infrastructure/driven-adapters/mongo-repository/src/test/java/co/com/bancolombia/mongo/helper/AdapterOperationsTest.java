@@ -10,6 +10,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.reactivecommons.utils.ObjectMapper;
 import org.springframework.data.domain.Example;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -22,6 +23,9 @@ class AdapterOperationsTest {
     @Mock
     private FranchiseMongoRepository repository;
 
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
     @Mock
     private ObjectMapper objectMapper;
 
@@ -36,7 +40,7 @@ class AdapterOperationsTest {
 
         when(objectMapper.map("value", Object.class)).thenReturn("value");
 
-        adapter = new FranchiseRepositoryAdapter(repository);
+        adapter = new FranchiseRepositoryAdapter(repository, mongoTemplate);
 
         entity = "value";
         entities = Flux.just(entity);
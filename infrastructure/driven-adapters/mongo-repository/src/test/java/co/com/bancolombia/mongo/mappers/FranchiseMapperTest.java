@@ -221,4 +221,31 @@ class FranchiseMapperTest {
         assertNull(reconstructedProduct.getStock());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Should keep franchise version when converting in both directions")
+    void shouldKeepFranchiseVersion() {
+        Franchise franchise = new Franchise("franchise1", "franchise 1", new ArrayList<>(), 7L);
+
+        FranchiseDocument document = FranchiseMapper.toDocument(franchise);
+        Franchise reconstructedFranchise = FranchiseMapper.toDomain(document);
+
+        assertEquals(7L, document.getVersion());
+        assertEquals(7L, reconstructedFranchise.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should convert a single-branch projection without branch name or products")
+    void shouldConvertPartialDocument() {
+        BranchDocument branchDocument = new BranchDocument("branch1", null, null);
+        FranchiseDocument document = new FranchiseDocument("franchise1", "franchise 1", List.of(branchDocument), 3L);
+
+        Franchise result = FranchiseMapper.toDomain(document);
+
+        assertEquals(1, result.getBranches().size());
+        assertEquals("branch1", result.getBranches().getFirst().getId());
+        assertNull(result.getBranches().getFirst().getName());
+        assertTrue(result.getBranches().getFirst().getProducts().isEmpty());
+        assertEquals(3L, result.getVersion());
+    }
+
+}
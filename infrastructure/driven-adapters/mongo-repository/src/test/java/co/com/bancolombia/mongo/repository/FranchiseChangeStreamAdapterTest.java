@@ -0,0 +1,110 @@
+package co.com.bancolombia.mongo.repository;
+
+import co.com.bancolombia.model.gateway.FranchiseChange;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FranchiseChangeStreamAdapterTest {
+
+    private static final ObjectId FRANCHISE_1 = new ObjectId();
+    private static final ObjectId FRANCHISE_2 = new ObjectId();
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private FranchiseChangeStreamAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        adapter = new FranchiseChangeStreamAdapter(mongoTemplate, "node-1", Duration.ZERO);
+        when(mongoTemplate.upsert(any(Query.class), any(UpdateDefinition.class), eq(FranchiseChangeStreamAdapter.CHECKPOINTS)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChangeStreamEvent<Document> event(OperationType operation, ObjectId franchiseId, String token) {
+        ChangeStreamEvent<Document> event = mock(ChangeStreamEvent.class);
+        ChangeStreamDocument<Document> raw = mock(ChangeStreamDocument.class);
+        when(event.getOperationType()).thenReturn(operation);
+        when(event.getRaw()).thenReturn(raw);
+        when(event.getResumeToken()).thenReturn(new BsonDocument("_data", new BsonString(token)));
+        when(raw.getDocumentKey()).thenReturn(franchiseId == null ? null : new BsonDocument("_id", new BsonObjectId(franchiseId)));
+        return event;
+    }
+
+    @Test
+    void shouldEmitEverythingFirstWhenThereIsNoCheckpoint() {
+        when(mongoTemplate.findById("node-1", Document.class, FranchiseChangeStreamAdapter.CHECKPOINTS))
+                .thenReturn(Mono.empty());
+        when(mongoTemplate.changeStream(eq("franchises"), any(ChangeStreamOptions.class), eq(Document.class)))
+                .thenReturn(Flux.just(event(OperationType.UPDATE, FRANCHISE_1, "token1"),
+                        event(OperationType.DELETE, FRANCHISE_2, "token2")));
+
+        StepVerifier.create(adapter.franchiseChanges().take(3))
+                .expectNext(FranchiseChange.everything())
+                .expectNext(FranchiseChange.of(FRANCHISE_1.toHexString()))
+                .expectNext(FranchiseChange.of(FRANCHISE_2.toHexString()))
+                .verifyComplete();
+
+        verify(mongoTemplate).upsert(any(Query.class), any(UpdateDefinition.class), eq(FranchiseChangeStreamAdapter.CHECKPOINTS));
+    }
+
+    @Test
+    void shouldStartAfterTheCheckpointedToken() {
+        when(mongoTemplate.findById("node-1", Document.class, FranchiseChangeStreamAdapter.CHECKPOINTS))
+                .thenReturn(Mono.just(new Document("_id", "node-1").append("token", new Document("_data", "token0"))));
+        when(mongoTemplate.changeStream(eq("franchises"), any(ChangeStreamOptions.class), eq(Document.class)))
+                .thenReturn(Flux.just(event(OperationType.INSERT, FRANCHISE_1, "token1")));
+
+        StepVerifier.create(adapter.franchiseChanges().take(1))
+                .expectNext(FranchiseChange.of(FRANCHISE_1.toHexString()))
+                .verifyComplete();
+
+        ArgumentCaptor<ChangeStreamOptions> options = ArgumentCaptor.forClass(ChangeStreamOptions.class);
+        verify(mongoTemplate).changeStream(eq("franchises"), options.capture(), eq(Document.class));
+        assertTrue(options.getValue().isStartAfter());
+        assertEquals(new BsonDocument("_data", new BsonString("token0")), options.getValue().getResumeToken().orElseThrow());
+    }
+
+    @Test
+    void shouldReportEverythingWhenTheCollectionIsDropped() {
+        when(mongoTemplate.findById("node-1", Document.class, FranchiseChangeStreamAdapter.CHECKPOINTS))
+                .thenReturn(Mono.just(new Document("token", new Document("_data", "token0"))));
+        when(mongoTemplate.changeStream(eq("franchises"), any(ChangeStreamOptions.class), eq(Document.class)))
+                .thenReturn(Flux.just(event(OperationType.DROP, null, "token1")));
+
+        StepVerifier.create(adapter.franchiseChanges().take(1))
+                .expectNext(FranchiseChange.everything())
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,292 @@
+package co.com.bancolombia.mongo.repository;
+
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.BulkItemResult;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.PageResult;
+import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.DuplicateFranchiseException;
+import co.com.bancolombia.model.gateway.UnknownFranchiseException;
+import co.com.bancolombia.mongo.FranchiseMongoRepository;
+import co.com.bancolombia.mongo.documents.FranchiseDocument;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the adapter's aggregation pipelines against a real mongod of the version the service is deployed with.
+ */
+class FranchiseRepositoryAdapterTest {
+
+    private static TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private static MongoClient client;
+    private static ReactiveMongoTemplate mongoTemplate;
+
+    private FranchiseRepositoryAdapter adapter;
+
+    @BeforeAll
+    static void startMongod() {
+        mongod = Mongod.instance().start(Version.Main.V5_0);
+        ServerAddress address = mongod.current().getServerAddress();
+        client = MongoClients.create("mongodb://" + address.getHost() + ":" + address.getPort());
+        mongoTemplate = new ReactiveMongoTemplate(client, "franchise-management-test");
+    }
+
+    @AfterAll
+    static void stopMongod() {
+        client.close();
+        mongod.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(FranchiseDocument.class).block();
+        adapter = new FranchiseRepositoryAdapter(mock(FranchiseMongoRepository.class), mongoTemplate);
+    }
+
+    private static String insert(Document... branches) {
+        ObjectId id = new ObjectId();
+        Document franchise = new Document("_id", id)
+                .append("name", "franchise " + id)
+                .append("version", 0L)
+                .append("branches", List.of(branches));
+        mongoTemplate.insert(franchise, mongoTemplate.getCollectionName(FranchiseDocument.class)).block();
+        return id.toHexString();
+    }
+
+    private static Document branch(String id, Document... products) {
+        return new Document("_id", id).append("name", "branch " + id).append("products", List.of(products));
+    }
+
+    private static Document product(String id, Integer stock) {
+        return new Document("_id", id).append("name", "product " + id).append("stock", stock);
+    }
+
+    private static Document productWithoutStock(String id) {
+        return new Document("_id", id).append("name", "product " + id);
+    }
+
+    private static List<String> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+
+    private static List<String> productIds(Franchise franchise, String branchId) {
+        return ids(franchise.findBranchById(branchId).getProducts());
+    }
+
+    @Test
+    @DisplayName("Should keep the first product with the highest stock of every branch")
+    void shouldKeepFirstMaxStockProduct() {
+        String id = insert(
+                branch("b1", product("p1", 5), product("p2", 9), product("p3", 9)),
+                branch("b2"),
+                new Document("_id", "b3").append("name", "branch b3"));
+
+        StepVerifier.create(adapter.findWithMaxStockProductPerBranch(id))
+                .assertNext(franchise -> {
+                    assertEquals(List.of("p2"), productIds(franchise, "b1"));
+                    assertTrue(productIds(franchise, "b2").isEmpty());
+                    assertTrue(productIds(franchise, "b3").isEmpty());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should rank null and missing stocks below any stock and equal to each other")
+    void shouldRankNullAndMissingStocksLowest() {
+        String id = insert(
+                branch("b1", productWithoutStock("p1"), product("p2", null), product("p3", 0)),
+                branch("b2", productWithoutStock("p1"), product("p2", null)),
+                branch("b3", product("p1", null), productWithoutStock("p2")));
+
+        StepVerifier.create(adapter.findWithMaxStockProductPerBranch(id))
+                .assertNext(franchise -> {
+                    assertEquals(List.of("p3"), productIds(franchise, "b1"));
+                    assertEquals(List.of("p1"), productIds(franchise, "b2"));
+                    assertEquals(List.of("p1"), productIds(franchise, "b3"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fail with UnknownFranchiseException when the franchise does not exist")
+    void shouldFailForUnknownFranchise() {
+        StepVerifier.create(adapter.findWithMaxStockProductPerBranch(new ObjectId().toHexString()))
+                .expectError(UnknownFranchiseException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should read the max stock view of only the requested franchises in one query")
+    void shouldReadRequestedFranchisesInBatch() {
+        String first = insert(branch("b1", product("p1", 1), product("p2", 2)));
+        insert(branch("b1", product("p1", 3)));
+        String third = insert(branch("b1", product("p1", 7), product("p2", 4)));
+
+        List<Franchise> franchises = adapter.findAllWithMaxStockProductPerBranch(
+                        List.of(first, third, new ObjectId().toHexString()))
+                .collectList()
+                .block();
+
+        assertEquals(Set.of(first, third), franchises.stream().map(Franchise::getId).collect(Collectors.toSet()));
+        franchises.forEach(franchise -> assertEquals(
+                franchise.getId().equals(first) ? List.of("p2") : List.of("p1"), productIds(franchise, "b1")));
+    }
+
+    @Test
+    @DisplayName("Should page products with each page ending where the next one starts")
+    void shouldPageProducts() {
+        String id = insert(branch("b1", product("p1", 1), product("p2", 2), product("p3", 3), product("p4", 4),
+                product("p5", 5)));
+
+        PageResult<Product> first = adapter.findProductPage(id, "b1", 0, 2).block();
+        PageResult<Product> second = adapter.findProductPage(id, "b1", 2, 2).block();
+        PageResult<Product> last = adapter.findProductPage(id, "b1", 4, 2).block();
+        PageResult<Product> beyond = adapter.findProductPage(id, "b1", 6, 2).block();
+
+        assertEquals(List.of("p1", "p2"), ids(first.getItems()));
+        assertEquals("2", first.getNextCursor());
+        assertEquals(List.of("p3", "p4"), ids(second.getItems()));
+        assertEquals("4", second.getNextCursor());
+        assertEquals(List.of("p5"), ids(last.getItems()));
+        assertNull(last.getNextCursor());
+        assertTrue(beyond.getItems().isEmpty());
+        assertNull(beyond.getNextCursor());
+        StepVerifier.create(adapter.findProductPage(id, "missing", 0, 2)).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should page branches without their products")
+    void shouldPageBranches() {
+        String id = insert(branch("b1", product("p1", 1)), branch("b2"), branch("b3"));
+
+        PageResult<Branch> first = adapter.findBranchPage(id, 0, 2).block();
+        PageResult<Branch> last = adapter.findBranchPage(id, 2, 2).block();
+
+        assertEquals(List.of("b1", "b2"), first.getItems().stream().map(Branch::getId).toList());
+        assertEquals("2", first.getNextCursor());
+        assertTrue(first.getItems().get(0).getProducts() == null || first.getItems().get(0).getProducts().isEmpty());
+        assertEquals(List.of("b3"), last.getItems().stream().map(Branch::getId).toList());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should rank top stock products highest first with ties in branch order and missing stocks last")
+    void shouldFindTopStockProducts() {
+        String id = insert(
+                branch("b1", product("p1", 5), productWithoutStock("p2"), product("p3", 9), product("p4", null),
+                        product("p5", 9), product("p6", 1)),
+                branch("b2"));
+
+        StepVerifier.create(adapter.findTopStockProducts(id, "b1", 3))
+                .assertNext(top -> assertEquals(List.of("p3", "p5", "p1"), ids(top)))
+                .verifyComplete();
+        StepVerifier.create(adapter.findTopStockProducts(id, "b1", 10))
+                .assertNext(top -> assertEquals(List.of("p3", "p5", "p1", "p6", "p2", "p4"), ids(top)))
+                .verifyComplete();
+        StepVerifier.create(adapter.findTopStockProducts(id, "b2", 3))
+                .assertNext(top -> assertTrue(top.isEmpty()))
+                .verifyComplete();
+        StepVerifier.create(adapter.findTopStockProducts(id, "missing", 3)).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should rename a product only when no other product of its branch has the new name")
+    void shouldRenameProductOnlyToFreeName() {
+        String id = insert(branch("b1", product("p1", 1), product("p2", 2)), branch("b2", product("p3", 3)));
+
+        StepVerifier.create(adapter.updateProductInBranch(id, "b1", "p1", "product p2", 5)).verifyComplete();
+        StepVerifier.create(adapter.updateProductInBranch(id, "b1", "p1", "product p1", 1))
+                .assertNext(product -> {
+                    assertEquals("product p1", product.getName());
+                    assertEquals(2, product.getStock());
+                })
+                .verifyComplete();
+        StepVerifier.create(adapter.updateProductInBranch(id, "b1", "p1", "product p3", 0))
+                .assertNext(product -> assertEquals("product p3", product.getName()))
+                .verifyComplete();
+        StepVerifier.create(adapter.updateProductInBranch(id, "b1", "missing", "product p4", 0)).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should apply only the guarded bulk writes that still hold and report that some did not")
+    void shouldUpsertBranchProductsWithGuardedWrites() {
+        String id = insert(branch("b1", product("p1", 1), product("p2", 2)), branch("b2", product("p3", 3)));
+
+        StepVerifier.create(adapter.upsertBranchProducts(id, "b1",
+                        List.of(new Product("p1", "renamed", 7), new Product("p9", "product p9", 9)),
+                        List.of(new Product("p4", "product p4", 4), new Product("p5", "product p2", 5))))
+                .expectNext(false)
+                .verifyComplete();
+        StepVerifier.create(adapter.upsertBranchProducts(id, "b1",
+                        List.of(new Product("p2", "product p2", 20)), List.of(new Product("p6", "product p3", 6))))
+                .expectNext(true)
+                .verifyComplete();
+
+        List<Product> products = adapter.findProductPage(id, "b1", 0, 10).block().getItems();
+        assertEquals(List.of("p1", "p2", "p4", "p6"), ids(products));
+        assertEquals("renamed", products.get(0).getName());
+        assertEquals(7, products.get(0).getStock());
+        assertEquals(20, products.get(1).getStock());
+        assertEquals(List.of("p3"), ids(adapter.findProductPage(id, "b2", 0, 10).block().getItems()));
+    }
+
+    @Test
+    @DisplayName("Should report a rename to a name another franchise has as a duplicate franchise")
+    void shouldRejectRenameToDuplicateName() {
+        mongoTemplate.indexOps(FranchiseDocument.class)
+                .ensureIndex(new Index().on("name", Sort.Direction.ASC).unique())
+                .block();
+        String id = insert();
+        String other = insert();
+
+        StepVerifier.create(adapter.renameFranchise(id, "franchise " + other))
+                .expectError(DuplicateFranchiseException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should insert copies and report duplicate names without the database error")
+    void shouldInsertCopiesAndReportDuplicateNames() {
+        mongoTemplate.indexOps(FranchiseDocument.class)
+                .ensureIndex(new Index().on("name", Sort.Direction.ASC).unique())
+                .block();
+        String existing = insert();
+        Franchise fresh = new Franchise(null, "fresh", List.of());
+        Franchise duplicate = new Franchise(null, "franchise " + existing, List.of());
+
+        List<BulkItemResult<Franchise>> results = adapter.insertAll(List.of(fresh, duplicate)).collectList().block();
+
+        assertEquals(BulkItemResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals("fresh", results.get(0).getItem().getName());
+        assertEquals(0L, results.get(0).getItem().getVersion());
+        assertTrue(results.get(1).isFailed());
+        assertEquals("Franchise with name <franchise " + existing + "> already exists", results.get(1).getError());
+        assertNull(fresh.getId());
+        assertNull(duplicate.getId());
+    }
+}
@@ -23,12 +23,20 @@ public class RouterRest {
         return route()
                 .nest(path("api/v1/franchise"), builder -> builder
                         .POST("", franchiseHandler::createFranchise)
+                        .GET("", franchiseHandler::listFranchises)
+                        .POST("/_import", franchiseHandler::importFranchises)
+                        .POST("/_batch", productHandler::getMaxStockBatch)
                         .PUT("/{id}", franchiseHandler::updateFranchiseName)
                         .POST("/{franchiseId}/branch", branchHandler::addBranchToFranchise)
+                        .GET("/{franchiseId}/branch", branchHandler::listBranches)
                         .PUT("/{franchiseId}/branch/{branchId}", branchHandler::updateBranchName)
                         .POST("/{franchiseId}/branch/{branchId}/product", productHandler::addProductToBranch)
+                        .GET("/{franchiseId}/branch/{branchId}/product", productHandler::listProducts)
+                        .GET("/{franchiseId}/branch/{branchId}/top", productHandler::getTopStockProducts)
+                        .POST("/{franchiseId}/branch/{branchId}/product/_bulk", productHandler::bulkUpsertProducts)
                         .DELETE("/{franchiseId}/branch/{branchId}/product/{productId}", productHandler::deleteProductFromBranch)
                         .PUT("/{franchiseId}/branch/{branchId}/product/{productId}", productHandler::updateProduct)
+                        .GET("/_export", franchiseHandler::exportFranchises)
                         .GET("/{franchiseId}", productHandler::getMaxStock)
                 ).build();
 
@@ -0,0 +1,18 @@
+package co.com.bancolombia.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FranchiseDetailDTO {
+    private String id;
+    private String name;
+    private List<BranchDetailDTO> branches;
+}
@@ -0,0 +1,18 @@
+package co.com.bancolombia.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FranchiseIdsDTO {
+
+    @NotEmpty(message = "Franchise ids are required")
+    private List<String> ids;
+
+}
@@ -0,0 +1,24 @@
+package co.com.bancolombia.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FranchiseImportDTO {
+
+    @NotNull(message = "Franchise name is required")
+    @NotBlank(message = "Franchise must not be blank")
+    private String name;
+
+    @Valid
+    private List<BranchImportDTO> branches;
+
+}
@@ -0,0 +1,16 @@
+package co.com.bancolombia.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FranchiseMaxStockDTO {
+    private String franchiseId;
+    private String franchiseName;
+    private List<MaxStockDTO> branches;
+}
@@ -1,8 +1,12 @@
 package co.com.bancolombia.api.mappers;
 
 import co.com.bancolombia.api.dto.BranchDTO;
+import co.com.bancolombia.api.dto.BranchDetailDTO;
+import co.com.bancolombia.api.dto.BranchSummaryDTO;
 import co.com.bancolombia.api.dto.ProductDTO;
+import co.com.bancolombia.api.dto.ProductDetailDTO;
 import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.FieldSelection;
 import co.com.bancolombia.model.Product;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,4 +32,24 @@ public class BranchMapperDTO {
 
         return new BranchDTO(branch.getId(), branch.getName(), productDTOS);
     }
+
+    public static BranchDetailDTO toDetailDTO(Branch branch, FieldSelection fields) {
+        log.debug("Converting BranchModel with selected fields to BranchDetailDTO");
+
+        List<ProductDetailDTO> productDTOS = null;
+        if (fields.includesAny("branches.products")) {
+            productDTOS = branch.getProducts() == null
+                    ? new ArrayList<>()
+                    : branch.getProducts().stream().map(product -> ProductMapperDTO.toDetailDTO(product, fields)).toList();
+        }
+
+        return new BranchDetailDTO(
+                fields.includes("branches.id") ? branch.getId() : null,
+                fields.includes("branches.name") ? branch.getName() : null,
+                productDTOS);
+    }
+
+    public static BranchSummaryDTO toSummaryDTO(Branch branch) {
+        return new BranchSummaryDTO(branch.getId(), branch.getName());
+    }
 }
@@ -0,0 +1,12 @@
+package co.com.bancolombia.api.mappers;
+
+import co.com.bancolombia.api.dto.BulkItemResultDTO;
+import co.com.bancolombia.model.BulkItemResult;
+import co.com.bancolombia.model.Product;
+
+public class BulkItemResultMapper {
+
+    public static BulkItemResultDTO toDTO(long index, BulkItemResult<Product> result) {
+        return new BulkItemResultDTO(index, result.getStatus().name(), ProductMapperDTO.toDTO(result.getItem()), result.getError());
+    }
+}
@@ -1,7 +1,10 @@
 package co.com.bancolombia.api.mappers;
 
+import co.com.bancolombia.api.dto.BranchDetailDTO;
 import co.com.bancolombia.api.dto.FranchiseDTO;
+import co.com.bancolombia.api.dto.FranchiseDetailDTO;
 import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.FieldSelection;
 import co.com.bancolombia.model.Franchise;
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,4 +25,21 @@ public class FranchisMapperDTO {
     public static FranchiseDTO toDTO(Franchise franchise) {
         return new FranchiseDTO(franchise.getId(), franchise.getName());
     }
+
+    /**
+     * Maps only the selected fields; everything else is left null so it is not serialized.
+     */
+    public static FranchiseDetailDTO toDetailDTO(Franchise franchise, FieldSelection fields) {
+        List<BranchDetailDTO> branches = null;
+        if (fields.includesAny("branches")) {
+            branches = franchise.getBranches() == null
+                    ? new ArrayList<>()
+                    : franchise.getBranches().stream().map(branch -> BranchMapperDTO.toDetailDTO(branch, fields)).toList();
+        }
+
+        return new FranchiseDetailDTO(
+                fields.includes("id") ? franchise.getId() : null,
+                fields.includes("name") ? franchise.getName() : null,
+                branches);
+    }
 }
@@ -0,0 +1,50 @@
+package co.com.bancolombia.api.mappers;
+
+import co.com.bancolombia.api.dto.BranchImportDTO;
+import co.com.bancolombia.api.dto.FranchiseImportDTO;
+import co.com.bancolombia.api.dto.FranchiseImportResultDTO;
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.BulkItemResult;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.Product;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class FranchiseImportMapper {
+
+    public static Franchise toDomain(FranchiseImportDTO franchiseImportDTO) {
+        log.debug("Converting FranchiseImportDTO to FranchiseModel");
+
+        List<Branch> branches = franchiseImportDTO.getBranches() == null
+                ? new ArrayList<>()
+                : franchiseImportDTO.getBranches().stream()
+                .map(FranchiseImportMapper::toBranchDomain)
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        return new Franchise(null, franchiseImportDTO.getName().trim().toLowerCase(), branches);
+    }
+
+    private static Branch toBranchDomain(BranchImportDTO branchImportDTO) {
+        List<Product> products = branchImportDTO.getProducts() == null
+                ? new ArrayList<>()
+                : branchImportDTO.getProducts().stream()
+                .map(productDTO -> new Product(null, productDTO.getName(), productDTO.getStock()))
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        return new Branch(null, branchImportDTO.getName(), products);
+    }
+
+    public static FranchiseImportResultDTO toResultDTO(long index, BulkItemResult<Franchise> result) {
+        Franchise franchise = result.getItem();
+        return new FranchiseImportResultDTO(index, result.getStatus().name(),
+                result.isFailed() ? null : franchise.getId(), franchise.getName(), result.getError());
+    }
+
+    public static FranchiseImportResultDTO toFailedDTO(long index, String name, String error) {
+        return new FranchiseImportResultDTO(index, BulkItemResult.Status.FAILED.name(), null, name, error);
+    }
+}
@@ -1,5 +1,6 @@
 package co.com.bancolombia.api.mappers;
 
+import co.com.bancolombia.api.dto.FranchiseMaxStockDTO;
 import co.com.bancolombia.api.dto.MaxStockDTO;
 import co.com.bancolombia.model.Franchise;
 
@@ -14,4 +15,8 @@ public class MaxStockMapper {
                 .map(branch -> new MaxStockDTO(branch.getId(), branch.getName(), ProductMapperDTO.toDTO(branch.getProducts().getFirst())))
                 .toList();
     }
+
+    public static FranchiseMaxStockDTO toFranchiseMaxStockDTO(Franchise franchise) {
+        return new FranchiseMaxStockDTO(franchise.getId(), franchise.getName(), toMaxStockDTO(franchise));
+    }
 }
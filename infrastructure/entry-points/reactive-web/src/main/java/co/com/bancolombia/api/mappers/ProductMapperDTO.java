@@ -1,7 +1,9 @@
 package co.com.bancolombia.api.mappers;
 
 import co.com.bancolombia.api.dto.ProductDTO;
+import co.com.bancolombia.api.dto.ProductDetailDTO;
 import co.com.bancolombia.api.validations.MissingRequestBodyException;
+import co.com.bancolombia.model.FieldSelection;
 import co.com.bancolombia.model.Product;
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,4 +23,11 @@ public class ProductMapperDTO {
         log.debug("Converting ProductModel to ProductDTO");
         return new ProductDTO(product.getId(), product.getName(), product.getStock());
     }
+
+    public static ProductDetailDTO toDetailDTO(Product product, FieldSelection fields) {
+        return new ProductDetailDTO(
+                fields.includes("branches.products.id") ? product.getId() : null,
+                fields.includes("branches.products.name") ? product.getName() : null,
+                fields.includes("branches.products.stock") ? product.getStock() : null);
+    }
 }
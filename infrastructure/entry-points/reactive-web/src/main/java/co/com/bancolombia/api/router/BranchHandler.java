@@ -1,10 +1,13 @@
 package co.com.bancolombia.api.router;
 
 import co.com.bancolombia.api.dto.BranchDTO;
+import co.com.bancolombia.api.dto.PageDTO;
 import co.com.bancolombia.api.mappers.BranchMapperDTO;
 import co.com.bancolombia.api.validations.FieldsValidator;
 import co.com.bancolombia.api.validations.MissingRequestBodyException;
+import co.com.bancolombia.model.gateway.StaleReads;
 import co.com.bancolombia.usecase.in.branch.AddBranchToFranchiseUseCase;
+import co.com.bancolombia.usecase.in.branch.ListBranchesUseCase;
 import co.com.bancolombia.usecase.in.branch.UpdateBranchNameUseCase;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -12,21 +15,27 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 @Slf4j
 @Component
 public class BranchHandler {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final AddBranchToFranchiseUseCase addBranchToFranchiseUseCase;
     private final UpdateBranchNameUseCase updateBranchNameUseCase;
+    private final ListBranchesUseCase listBranchesUseCase;
     private final FieldsValidator fieldsValidator;
 
     public BranchHandler(
             AddBranchToFranchiseUseCase addBranchToFranchiseUseCase,
             UpdateBranchNameUseCase updateBranchNameUseCase,
+            ListBranchesUseCase listBranchesUseCase,
             FieldsValidator fieldsValidator) {
         this.addBranchToFranchiseUseCase = addBranchToFranchiseUseCase;
         this.updateBranchNameUseCase = updateBranchNameUseCase;
+        this.listBranchesUseCase = listBranchesUseCase;
         this.fieldsValidator = fieldsValidator;
     }
 
@@ -55,4 +64,27 @@ public class BranchHandler {
                 .flatMap(ServerResponse.status(HttpStatus.CREATED)::bodyValue);
 
     }
+
+    /**
+     * Lists the branches of a franchise, without products, one page at a time. The {@code cursor} returned with a page
+     * is passed back to read the next one. While the database is unavailable the last-known-good page is served, flagged
+     * with a stale warning.
+     */
+    public Mono<ServerResponse> listBranches(ServerRequest serverRequest) {
+        String franchiseId = serverRequest.pathVariable("franchiseId");
+        String cursor = serverRequest.queryParam("cursor").orElse(null);
+        StaleReads staleReads = new StaleReads();
+
+        return Mono.fromCallable(() -> serverRequest.queryParam("size")
+                        .map(Integer::parseInt)
+                        .orElse(DEFAULT_PAGE_SIZE))
+                .onErrorMap(NumberFormatException.class,
+                        error -> new IllegalArgumentException("Page size must be a number"))
+                .flatMap(size -> this.listBranchesUseCase.listBranches(franchiseId, cursor, size))
+                .flatMap(page -> ConditionalGet.respond(serverRequest,
+                        ConditionalGet.contentTag(page.getItems(), page.getNextCursor()), staleReads.isStale(),
+                        () -> new PageDTO<>(page.getItems().stream().map(BranchMapperDTO::toSummaryDTO).toList(),
+                                page.getNextCursor())))
+                .contextWrite(Context.of(StaleReads.class, staleReads));
+    }
 }
@@ -0,0 +1,140 @@
+package co.com.bancolombia.api.router;
+
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.Product;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET support for franchise reads. Strong ETags are computed from the domain objects returned by the use
+ * cases, so a request whose {@code If-None-Match} still matches is answered with 304 before the body is mapped or
+ * serialized.
+ */
+final class ConditionalGet {
+
+    /**
+     * Clients may keep the response, but only reuse it after revalidating it with its ETag.
+     */
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Tags a franchise view by its version, which every write increments. Falls back to the content of the view for
+     * franchises stored before they were versioned.
+     */
+    static String versionTag(Franchise franchise) {
+        if (franchise.getVersion() == null) {
+            return contentTag(List.of(franchise), null);
+        }
+        return "\"" + franchise.getId() + "-" + franchise.getVersion() + "\"";
+    }
+
+    /**
+     * Tags a page by a hash of its items and next cursor. Items may be franchises, branches or products.
+     */
+    static String contentTag(List<?> items, String nextCursor) {
+        Fingerprint fingerprint = new Fingerprint();
+        items.forEach(fingerprint::add);
+        fingerprint.add(nextCursor);
+        return "\"" + Long.toHexString(fingerprint.hash) + "\"";
+    }
+
+    /**
+     * Answers 304 when the request already holds the representation tagged {@code etag}, otherwise 200 with the body
+     * built by {@code body}. Both carry the ETag and the revalidation policy.
+     */
+    static Mono<ServerResponse> respond(ServerRequest serverRequest, String etag, Supplier<Object> body) {
+        return respond(serverRequest, etag, false, body);
+    }
+
+    /**
+     * Same as {@link #respond(ServerRequest, String, Supplier)}, adding a {@value #STALE_WARNING} warning when the data
+     * is a last-known-good copy served while the database is unavailable.
+     */
+    static Mono<ServerResponse> respond(ServerRequest serverRequest, String etag, boolean stale, Supplier<Object> body) {
+        boolean notModified = matches(serverRequest, etag);
+        ServerResponse.BodyBuilder response = notModified
+                ? ServerResponse.status(HttpStatus.NOT_MODIFIED)
+                : ServerResponse.ok();
+        response.eTag(etag).cacheControl(REVALIDATE);
+        if (stale) {
+            response.header(HttpHeaders.WARNING, STALE_WARNING);
+        }
+        return notModified ? response.build() : response.bodyValue(body.get());
+    }
+
+    /**
+     * Weak comparison, as required for {@code If-None-Match}.
+     */
+    private static boolean matches(ServerRequest serverRequest, String etag) {
+        return serverRequest.headers().header(HttpHeaders.IF_NONE_MATCH).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> "*".equals(tag) || etag.equals(tag));
+    }
+
+    /**
+     * 64-bit FNV-1a over the fields of the visited objects, with a separator after each field so that moving
+     * characters between adjacent fields changes the hash.
+     */
+    private static final class Fingerprint {
+        private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+        private static final long PRIME = 0x100000001b3L;
+        private static final int SEPARATOR = 0x1f;
+        private static final int NULL = 0;
+
+        private long hash = OFFSET_BASIS;
+
+        private void add(Object value) {
+            switch (value) {
+                case Franchise franchise -> {
+                    add(franchise.getId());
+                    add(franchise.getName());
+                    add(franchise.getVersion());
+                    addAll(franchise.getBranches());
+                }
+                case Branch branch -> {
+                    add(branch.getId());
+                    add(branch.getName());
+                    addAll(branch.getProducts());
+                }
+                case Product product -> {
+                    add(product.getId());
+                    add(product.getName());
+                    add(product.getStock());
+                }
+                case null -> mix(NULL);
+                default -> value.toString().chars().forEach(this::mix);
+            }
+            mix(SEPARATOR);
+        }
+
+        private void addAll(List<?> values) {
+            if (values == null) {
+                mix(NULL);
+                return;
+            }
+            add(values.size());
+            values.forEach(this::add);
+        }
+
+        private void mix(int character) {
+            hash ^= character;
+            hash *= PRIME;
+        }
+    }
+}
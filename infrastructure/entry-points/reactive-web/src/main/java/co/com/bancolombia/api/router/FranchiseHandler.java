@@ -1,32 +1,69 @@
 package co.com.bancolombia.api.router;
 
 import co.com.bancolombia.api.dto.FranchiseDTO;
+import co.com.bancolombia.api.dto.FranchiseDetailDTO;
+import co.com.bancolombia.api.dto.FranchiseImportDTO;
+import co.com.bancolombia.api.dto.FranchiseImportResultDTO;
+import co.com.bancolombia.api.dto.PageDTO;
 import co.com.bancolombia.api.mappers.FranchisMapperDTO;
+import co.com.bancolombia.api.mappers.FranchiseImportMapper;
 import co.com.bancolombia.api.validations.FieldsValidator;
 import co.com.bancolombia.api.validations.MissingRequestBodyException;
+import co.com.bancolombia.model.BulkItemResult;
+import co.com.bancolombia.model.FieldSelection;
+import co.com.bancolombia.model.Franchise;
 import co.com.bancolombia.usecase.in.franchise.CreateFranchiseUseCase;
+import co.com.bancolombia.usecase.in.franchise.ExportFranchisesUseCase;
+import co.com.bancolombia.usecase.in.franchise.ImportFranchisesUseCase;
+import co.com.bancolombia.usecase.in.franchise.ListFranchisesUseCase;
 import co.com.bancolombia.usecase.in.franchise.UpdateFranchiseNameUseCase;
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class FranchiseHandler {
 
+    private static final int IMPORT_CHUNK_SIZE = 500;
+    private static final int DEFAULT_EXPORT_BATCH_SIZE = 500;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final FieldSelection SUMMARY_FIELDS = FieldSelection.of(List.of("id", "name"));
+
     private final CreateFranchiseUseCase createFranchiseUseCase;
     private final UpdateFranchiseNameUseCase updateFranchiseNameUseCase;
+    private final ImportFranchisesUseCase importFranchisesUseCase;
+    private final ExportFranchisesUseCase exportFranchisesUseCase;
+    private final ListFranchisesUseCase listFranchisesUseCase;
     private final FieldsValidator fieldsValidator;
 
     public FranchiseHandler(
             CreateFranchiseUseCase createFranchiseUseCase,
             UpdateFranchiseNameUseCase updateFranchiseNameUseCase,
+            ImportFranchisesUseCase importFranchisesUseCase,
+            ExportFranchisesUseCase exportFranchisesUseCase,
+            ListFranchisesUseCase listFranchisesUseCase,
             FieldsValidator fieldsValidator) {
         this.createFranchiseUseCase = createFranchiseUseCase;
         this.updateFranchiseNameUseCase = updateFranchiseNameUseCase;
+        this.importFranchisesUseCase = importFranchisesUseCase;
+        this.exportFranchisesUseCase = exportFranchisesUseCase;
+        this.listFranchisesUseCase = listFranchisesUseCase;
         this.fieldsValidator = fieldsValidator;
     }
 
@@ -50,4 +87,100 @@ public class FranchiseHandler {
                 .map(FranchisMapperDTO::toDTO)
                 .flatMap(ServerResponse.status(HttpStatus.CREATED)::bodyValue);
     }
+
+    /**
+     * Streams an NDJSON body of complete franchises, validating every record and importing them in chunks of
+     * {@value #IMPORT_CHUNK_SIZE} so the upload is never held in memory. Answers with one NDJSON result per record.
+     */
+    public Mono<ServerResponse> importFranchises(ServerRequest serverRequest) {
+        Flux<FranchiseImportResultDTO> results = serverRequest.bodyToFlux(FranchiseImportDTO.class)
+                .index()
+                .buffer(IMPORT_CHUNK_SIZE)
+                .concatMap(this::importChunk);
+
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(results, FranchiseImportResultDTO.class);
+    }
+
+    /**
+     * Streams every franchise, optionally filtered by {@code namePrefix}, as NDJSON. Documents are read from a cursor in
+     * batches of {@code batchSize} (default {@value #DEFAULT_EXPORT_BATCH_SIZE}) and encoded one line at a time, so
+     * the next batch is only fetched once the client has consumed the previous one. {@code fields} narrows what is
+     * read and written.
+     */
+    public Mono<ServerResponse> exportFranchises(ServerRequest serverRequest) {
+        String namePrefix = serverRequest.queryParam("namePrefix").orElse(null);
+        return Mono.zip(intParam(serverRequest, "batchSize", DEFAULT_EXPORT_BATCH_SIZE),
+                        selectedFields(serverRequest, FieldSelection.all()))
+                .flatMap(params -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(this.exportFranchisesUseCase.exportFranchises(namePrefix, params.getT1(), params.getT2())
+                                .map(franchise -> FranchisMapperDTO.toDetailDTO(franchise, params.getT2())),
+                                FranchiseDetailDTO.class));
+    }
+
+    /**
+     * Lists franchises one page at a time, resuming after the {@code cursor} returned by the previous page so every
+     * page costs the same index seek. Only ids and names are returned unless {@code includeBranches=true} or
+     * {@code fields} asks for something else.
+     */
+    public Mono<ServerResponse> listFranchises(ServerRequest serverRequest) {
+        String cursor = serverRequest.queryParam("cursor").orElse(null);
+        boolean includeBranches = serverRequest.queryParam("includeBranches").map(Boolean::parseBoolean).orElse(false);
+        FieldSelection defaultFields = includeBranches ? FieldSelection.all() : SUMMARY_FIELDS;
+
+        return Mono.zip(intParam(serverRequest, "size", DEFAULT_PAGE_SIZE), selectedFields(serverRequest, defaultFields))
+                .flatMap(params -> this.listFranchisesUseCase.listFranchises(cursor, params.getT1(), params.getT2())
+                        .flatMap(page -> ConditionalGet.respond(serverRequest,
+                                ConditionalGet.contentTag(page.getItems(), page.getNextCursor()),
+                                () -> new PageDTO<>(page.getItems().stream()
+                                        .map(franchise -> FranchisMapperDTO.toDetailDTO(franchise, params.getT2()))
+                                        .toList(), page.getNextCursor()))));
+    }
+
+    private static Mono<Integer> intParam(ServerRequest serverRequest, String name, int defaultValue) {
+        return Mono.fromCallable(() -> serverRequest.queryParam(name)
+                        .map(Integer::parseInt)
+                        .orElse(defaultValue))
+                .onErrorMap(NumberFormatException.class,
+                        error -> new IllegalArgumentException("Query parameter " + name + " must be a number"));
+    }
+
+    /**
+     * Reads the comma separated {@code fields} query parameter, e.g. {@code fields=name,branches.name}.
+     */
+    private static Mono<FieldSelection> selectedFields(ServerRequest serverRequest, FieldSelection defaultFields) {
+        return Mono.fromCallable(() -> serverRequest.queryParam("fields")
+                .map(fields -> FieldSelection.of(Arrays.asList(fields.split(","))))
+                .orElse(defaultFields));
+    }
+
+    private Flux<FranchiseImportResultDTO> importChunk(List<Tuple2<Long, FranchiseImportDTO>> chunk) {
+        Map<Long, String> invalid = new HashMap<>();
+        List<Franchise> valid = new ArrayList<>(chunk.size());
+        for (Tuple2<Long, FranchiseImportDTO> record : chunk) {
+            try {
+                valid.add(FranchiseImportMapper.toDomain(fieldsValidator.validate(record.getT2())));
+            } catch (ConstraintViolationException e) {
+                invalid.put(record.getT1(), e.getConstraintViolations().stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            }
+        }
+
+        Flux<BulkItemResult<Franchise>> imported = valid.isEmpty()
+                ? Flux.empty()
+                : this.importFranchisesUseCase.importFranchises(valid);
+        return imported.collectList()
+                .flatMapIterable(results -> {
+                    Iterator<BulkItemResult<Franchise>> importedResults = results.iterator();
+                    return chunk.stream()
+                            .map(record -> invalid.containsKey(record.getT1())
+                                    ? FranchiseImportMapper.toFailedDTO(record.getT1(), record.getT2().getName(), invalid.get(record.getT1()))
+                                    : FranchiseImportMapper.toResultDTO(record.getT1(), importedResults.next()))
+                            .toList();
+                });
+    }
 }
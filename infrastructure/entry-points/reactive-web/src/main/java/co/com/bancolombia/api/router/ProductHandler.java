@@ -1,28 +1,48 @@
 package co.com.bancolombia.api.router;
 
+import co.com.bancolombia.api.dto.BulkItemResultDTO;
+import co.com.bancolombia.api.dto.FranchiseIdsDTO;
+import co.com.bancolombia.api.dto.FranchiseMaxStockDTO;
+import co.com.bancolombia.api.dto.PageDTO;
 import co.com.bancolombia.api.dto.ProductDTO;
+import co.com.bancolombia.api.mappers.BulkItemResultMapper;
 import co.com.bancolombia.api.mappers.MaxStockMapper;
 import co.com.bancolombia.api.mappers.ProductMapperDTO;
 import co.com.bancolombia.api.validations.FieldsValidator;
 import co.com.bancolombia.api.validations.MissingRequestBodyException;
+import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.StaleReads;
 import co.com.bancolombia.usecase.in.product.AddProductToBranchUseCase;
+import co.com.bancolombia.usecase.in.product.BulkUpsertProductsUseCase;
 import co.com.bancolombia.usecase.in.product.DeleteProductFromBranchUseCase;
 import co.com.bancolombia.usecase.in.product.GetMaxStockByBranchInFranchiseUseCase;
+import co.com.bancolombia.usecase.in.product.GetTopStockProductsUseCase;
+import co.com.bancolombia.usecase.in.product.ListProductsUseCase;
 import co.com.bancolombia.usecase.in.product.UpdateProductUseCase;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 @Slf4j
 @Component
 public class ProductHandler {
+    private static final int BULK_CHUNK_SIZE = 500;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int DEFAULT_TOP_K = 5;
+
     private final AddProductToBranchUseCase addProductToBranchUseCase;
     private final GetMaxStockByBranchInFranchiseUseCase getMaxStockByBranchInFranchiseUseCase;
     private final DeleteProductFromBranchUseCase deleteProductFromBranchUseCase;
     private final UpdateProductUseCase updateProductUseCase;
+    private final BulkUpsertProductsUseCase bulkUpsertProductsUseCase;
+    private final ListProductsUseCase listProductsUseCase;
+    private final GetTopStockProductsUseCase getTopStockProductsUseCase;
     private final FieldsValidator fieldsValidator;
 
     public ProductHandler(
@@ -30,11 +50,17 @@ public class ProductHandler {
             GetMaxStockByBranchInFranchiseUseCase getMaxStockByBranchInFranchiseUseCase,
             DeleteProductFromBranchUseCase deleteProductFromBranchUseCase,
             UpdateProductUseCase updateProductUseCase,
+            BulkUpsertProductsUseCase bulkUpsertProductsUseCase,
+            ListProductsUseCase listProductsUseCase,
+            GetTopStockProductsUseCase getTopStockProductsUseCase,
             FieldsValidator fieldsValidator) {
         this.addProductToBranchUseCase = addProductToBranchUseCase;
         this.getMaxStockByBranchInFranchiseUseCase = getMaxStockByBranchInFranchiseUseCase;
         this.deleteProductFromBranchUseCase = deleteProductFromBranchUseCase;
         this.updateProductUseCase = updateProductUseCase;
+        this.bulkUpsertProductsUseCase = bulkUpsertProductsUseCase;
+        this.listProductsUseCase = listProductsUseCase;
+        this.getTopStockProductsUseCase = getTopStockProductsUseCase;
         this.fieldsValidator = fieldsValidator;
     }
 
@@ -51,11 +77,99 @@ public class ProductHandler {
                 .flatMap(ServerResponse.status(HttpStatus.CREATED)::bodyValue);
     }
 
+    /**
+     * Lists the products of a branch one page at a time. The {@code cursor} returned with a page is passed back to read
+     * the next one. While the database is unavailable the last-known-good page is served, flagged with a stale warning.
+     */
+    public Mono<ServerResponse> listProducts(ServerRequest serverRequest) {
+        String franchiseId = serverRequest.pathVariable("franchiseId");
+        String branchId = serverRequest.pathVariable("branchId");
+        String cursor = serverRequest.queryParam("cursor").orElse(null);
+        StaleReads staleReads = new StaleReads();
+
+        return Mono.fromCallable(() -> serverRequest.queryParam("size")
+                        .map(Integer::parseInt)
+                        .orElse(DEFAULT_PAGE_SIZE))
+                .onErrorMap(NumberFormatException.class,
+                        error -> new IllegalArgumentException("Page size must be a number"))
+                .flatMap(size -> this.listProductsUseCase.listProducts(franchiseId, branchId, cursor, size))
+                .flatMap(page -> ConditionalGet.respond(serverRequest,
+                        ConditionalGet.contentTag(page.getItems(), page.getNextCursor()), staleReads.isStale(),
+                        () -> new PageDTO<>(page.getItems().stream().map(ProductMapperDTO::toDTO).toList(),
+                                page.getNextCursor())))
+                .contextWrite(Context.of(StaleReads.class, staleReads));
+    }
+
+    /**
+     * Answers the {@code k} products of a branch with the highest stock ({@value #DEFAULT_TOP_K} when not given),
+     * highest first. While the database is unavailable the last-known-good ranking is served, flagged with a stale
+     * warning.
+     */
+    public Mono<ServerResponse> getTopStockProducts(ServerRequest serverRequest) {
+        String franchiseId = serverRequest.pathVariable("franchiseId");
+        String branchId = serverRequest.pathVariable("branchId");
+        StaleReads staleReads = new StaleReads();
+
+        return Mono.fromCallable(() -> serverRequest.queryParam("k")
+                        .map(Integer::parseInt)
+                        .orElse(DEFAULT_TOP_K))
+                .onErrorMap(NumberFormatException.class,
+                        error -> new IllegalArgumentException("k must be a number"))
+                .flatMap(k -> this.getTopStockProductsUseCase.getTopStockProducts(franchiseId, branchId, k))
+                .flatMap(products -> ConditionalGet.respond(serverRequest, ConditionalGet.contentTag(products, null),
+                        staleReads.isStale(), () -> products.stream().map(ProductMapperDTO::toDTO).toList()))
+                .contextWrite(Context.of(StaleReads.class, staleReads));
+    }
+
+    /**
+     * Accepts a JSON array or an NDJSON stream of products and upserts them in chunks of {@value #BULK_CHUNK_SIZE},
+     * one branch write per chunk, answering with one result per item in request order. Unlike the product update,
+     * which adds the given stock to the current one, the bulk upsert replaces the stock of existing products.
+     */
+    public Mono<ServerResponse> bulkUpsertProducts(ServerRequest serverRequest) {
+        String franchiseId = serverRequest.pathVariable("franchiseId");
+        String branchId = serverRequest.pathVariable("branchId");
+
+        Flux<BulkItemResultDTO> results = serverRequest.bodyToFlux(ProductDTO.class)
+                .switchIfEmpty(Flux.error(new MissingRequestBodyException("Body cannot be null")))
+                .map(productDTO -> new Product(productDTO.getProductId(), productDTO.getName(), productDTO.getStock()))
+                .buffer(BULK_CHUNK_SIZE)
+                .concatMap(products -> this.bulkUpsertProductsUseCase.upsertProducts(franchiseId, branchId, products))
+                .index(BulkItemResultMapper::toDTO);
+
+        MediaType contentType = isNdJson(serverRequest) ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(contentType).body(results, BulkItemResultDTO.class);
+    }
+
+    /**
+     * Tagged with the franchise version, so clients polling an unchanged franchise get a 304 without a body. While the
+     * database is unavailable the last-known-good view is served, flagged with a stale warning.
+     */
     public Mono<ServerResponse> getMaxStock(ServerRequest serverRequest) {
         String franchiseId = serverRequest.pathVariable("franchiseId");
+        StaleReads staleReads = new StaleReads();
         return this.getMaxStockByBranchInFranchiseUseCase.getMaxStockByBranchInFranchise(franchiseId)
-                .map(MaxStockMapper::toMaxStockDTO)
-                .flatMap(ServerResponse.ok()::bodyValue);
+                .flatMap(franchise -> ConditionalGet.respond(serverRequest, ConditionalGet.versionTag(franchise),
+                        staleReads.isStale(), () -> MaxStockMapper.toMaxStockDTO(franchise)))
+                .contextWrite(Context.of(StaleReads.class, staleReads));
+    }
+
+    /**
+     * Reads the max stock products of several franchises with a single query, writing each franchise as soon as it is
+     * read. Answers NDJSON when the client accepts it, a JSON array otherwise.
+     */
+    public Mono<ServerResponse> getMaxStockBatch(ServerRequest serverRequest) {
+        Flux<FranchiseMaxStockDTO> results = serverRequest.bodyToMono(FranchiseIdsDTO.class)
+                .switchIfEmpty(Mono.error(new MissingRequestBodyException("Body cannot be null")))
+                .map(fieldsValidator::validate)
+                .flatMapMany(body -> this.getMaxStockByBranchInFranchiseUseCase.getMaxStockByBranchInFranchises(body.getIds()))
+                .map(MaxStockMapper::toFranchiseMaxStockDTO);
+
+        boolean acceptsNdJson = serverRequest.headers().accept().stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+        return ServerResponse.ok()
+                .contentType(acceptsNdJson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(results, FranchiseMaxStockDTO.class);
     }
 
     public Mono<ServerResponse> deleteProductFromBranch(ServerRequest serverRequest) {
@@ -81,5 +195,9 @@ public class ProductHandler {
                 .flatMap(ServerResponse.status(HttpStatus.CREATED)::bodyValue);
     }
 
-
+    private boolean isNdJson(ServerRequest serverRequest) {
+        return serverRequest.headers().contentType()
+                .map(MediaType.APPLICATION_NDJSON::isCompatibleWith)
+                .orElse(false);
+    }
 }
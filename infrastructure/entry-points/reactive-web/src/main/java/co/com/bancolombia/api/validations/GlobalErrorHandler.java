@@ -1,7 +1,10 @@
 package co.com.bancolombia.api.validations;
 
+import co.com.bancolombia.model.gateway.DuplicateFranchiseException;
+import co.com.bancolombia.model.gateway.FranchiseStoreUnavailableException;
 import co.com.bancolombia.usecase.exceptions.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +20,7 @@ import reactor.core.publisher.Mono;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Component
@@ -67,7 +71,11 @@ public class GlobalErrorHandler implements ErrorWebExceptionHandler {
         if (ex instanceof ProductNotFoundException) return HttpStatus.NOT_FOUND;
         if (ex instanceof DuplicateFranchiseException) return HttpStatus.CONFLICT;
         if (ex instanceof DuplicateBranchException) return HttpStatus.CONFLICT;
+        if (ex instanceof DuplicateProductException) return HttpStatus.CONFLICT;
         if (ex instanceof IllegalArgumentException) return HttpStatus.BAD_REQUEST;
+        if (ex instanceof CallNotPermittedException) return HttpStatus.SERVICE_UNAVAILABLE;
+        if (ex instanceof FranchiseStoreUnavailableException) return HttpStatus.SERVICE_UNAVAILABLE;
+        if (ex instanceof TimeoutException) return HttpStatus.SERVICE_UNAVAILABLE;
         if (ex instanceof ResponseStatusException rse) return HttpStatus.valueOf(rse.getStatusCode().value());
         return HttpStatus.INTERNAL_SERVER_ERROR;
     }
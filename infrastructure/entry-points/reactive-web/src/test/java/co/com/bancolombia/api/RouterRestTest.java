@@ -15,6 +15,8 @@ import org.springframework.web.reactive.function.server.ServerResponse;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -62,6 +64,94 @@ class RouterRestTest {
                 .expectStatus().isOk();
     }
 
+    @Test
+    @DisplayName("Should route POST /api/v1/franchise/_import to franchiseHandler importFranchises")
+    void shouldRoutePOSTImportToImportFranchises() {
+        when(franchiseHandler.importFranchises(any())).thenReturn(
+                ServerResponse.ok().bodyValue(""));
+
+        webTestClient.post()
+                .uri("/api/v1/franchise/_import")
+                .bodyValue("{\"name\":\"Test Franchise\"}")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("Should route GET /api/v1/franchise to franchiseHandler listFranchises")
+    void shouldRouteGETFranchiseToListFranchises() {
+        when(franchiseHandler.listFranchises(any())).thenReturn(
+                ServerResponse.ok().bodyValue(""));
+
+        webTestClient.get()
+                .uri("/api/v1/franchise")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("Should route GET /api/v1/franchise/{franchiseId}/branch to branchHandler listBranches")
+    void shouldRouteGETBranchToListBranches() {
+        when(branchHandler.listBranches(any())).thenReturn(
+                ServerResponse.ok().bodyValue(""));
+
+        webTestClient.get()
+                .uri("/api/v1/franchise/franchise1/branch?cursor=0&size=10")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("Should route GET /api/v1/franchise/{franchiseId}/branch/{branchId}/product to productHandler listProducts")
+    void shouldRouteGETProductToListProducts() {
+        when(productHandler.listProducts(any())).thenReturn(
+                ServerResponse.ok().bodyValue(""));
+
+        webTestClient.get()
+                .uri("/api/v1/franchise/franchise1/branch/branch1/product")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("Should route GET /api/v1/franchise/{franchiseId}/branch/{branchId}/top to productHandler getTopStockProducts")
+    void shouldRouteGETTopToGetTopStockProducts() {
+        when(productHandler.getTopStockProducts(any())).thenReturn(
+                ServerResponse.ok().bodyValue(""));
+
+        webTestClient.get()
+                .uri("/api/v1/franchise/franchise1/branch/branch1/top?k=3")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("Should route POST /api/v1/franchise/_batch to productHandler getMaxStockBatch")
+    void shouldRoutePOSTBatchToGetMaxStockBatch() {
+        when(productHandler.getMaxStockBatch(any())).thenReturn(
+                ServerResponse.ok().bodyValue(""));
+
+        webTestClient.post()
+                .uri("/api/v1/franchise/_batch")
+                .bodyValue("{\"ids\":[\"franchise1\"]}")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("Should route GET /api/v1/franchise/_export to franchiseHandler exportFranchises")
+    void shouldRouteGETExportToExportFranchises() {
+        when(franchiseHandler.exportFranchises(any())).thenReturn(
+                ServerResponse.ok().bodyValue(""));
+
+        webTestClient.get()
+                .uri("/api/v1/franchise/_export")
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(productHandler, never()).getMaxStock(any());
+    }
+
     @Test
     @DisplayName("Should route PUT /api/v1/franchise/{id} to franchiseHandler updateFranchiseName")
     void shouldRoutePUTFranchiseToUpdateFranchiseName() {
@@ -114,6 +204,19 @@ class RouterRestTest {
                 .expectStatus().isOk();
     }
 
+    @Test
+    @DisplayName("Should route POST /api/v1/franchise/{franchiseId}/branch/{branchId}/product/_bulk to productHandler bulkUpsertProducts")
+    void shouldRoutePOSTBulkProductsToBulkUpsertProducts() {
+        when(productHandler.bulkUpsertProducts(any())).thenReturn(
+                ServerResponse.ok().bodyValue("[]"));
+
+        webTestClient.post()
+                .uri("/api/v1/franchise/franchise1/branch/branch1/product/_bulk")
+                .bodyValue("[{\"name\":\"Test Product\",\"stock\":10}]")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
     @Test
     @DisplayName("Should route DELETE /api/v1/franchise/{franchiseId}/branch/{branchId}/product/{productId} to productHandler deleteProductFromBranch")
     void shouldRouteDELETEProductToDeleteProductFromBranch() {
@@ -4,9 +4,11 @@ import co.com.bancolombia.api.dto.BranchDTO;
 import co.com.bancolombia.api.validations.FieldsValidator;
 import co.com.bancolombia.api.validations.MissingRequestBodyException;
 import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.PageResult;
 import co.com.bancolombia.usecase.exceptions.BranchNotFoundException;
 import co.com.bancolombia.usecase.exceptions.DuplicateBranchException;
 import co.com.bancolombia.usecase.in.branch.AddBranchToFranchiseUseCase;
+import co.com.bancolombia.usecase.in.branch.ListBranchesUseCase;
 import co.com.bancolombia.usecase.in.branch.UpdateBranchNameUseCase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,13 +18,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.ArrayList;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -36,6 +43,9 @@ class BranchHandlerTest {
     @Mock
     private UpdateBranchNameUseCase updateBranchNameUseCase;
 
+    @Mock
+    private ListBranchesUseCase listBranchesUseCase;
+
     @Mock
     private FieldsValidator fieldsValidator;
 
@@ -48,6 +58,7 @@ class BranchHandlerTest {
         branchHandler = new BranchHandler(
                 addBranchToFranchiseUseCase,
                 updateBranchNameUseCase,
+                listBranchesUseCase,
                 fieldsValidator
         );
         
@@ -360,4 +371,66 @@ class BranchHandlerTest {
         verify(fieldsValidator).validate(emptyNameDTO);
         verify(addBranchToFranchiseUseCase).addBranchToFranchise(eq("franchise1"), any(Branch.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should list a page of branches without products")
+    void shouldListBranchesWithoutProducts() {
+        when(listBranchesUseCase.listBranches("franchise1", "20", 10))
+                .thenReturn(Mono.just(PageResult.of(List.of(branch), "21")));
+
+        String body = WebTestClient.bindToRouterFunction(RouterFunctions.route(
+                        RequestPredicates.GET("/{franchiseId}/branch"), branchHandler::listBranches)).build()
+                .get()
+                .uri("/franchise1/branch?cursor=20&size=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertTrue(body.contains("\"items\":[{\"id\":\"branch1\",\"name\":\"Test Branch\"}]"));
+        assertTrue(body.contains("\"nextCursor\":\"21\""));
+    }
+
+    @Test
+    @DisplayName("Should answer 304 for an unchanged branch page and 200 once it changes")
+    void shouldRevalidateBranchPages() {
+        when(listBranchesUseCase.listBranches("franchise1", null, 20))
+                .thenReturn(Mono.just(PageResult.of(List.of(branch), null)),
+                        Mono.just(PageResult.of(List.of(branch), null)),
+                        Mono.just(PageResult.of(List.of(new Branch("branch1", "Renamed", new ArrayList<>())), null)));
+        WebTestClient client = WebTestClient.bindToRouterFunction(RouterFunctions.route(
+                RequestPredicates.GET("/{franchiseId}/branch"), branchHandler::listBranches)).build();
+
+        String etag = client.get().uri("/franchise1/branch")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        client.get().uri("/franchise1/branch")
+                .header("If-None-Match", etag)
+                .exchange()
+                .expectStatus().isNotModified();
+        client.get().uri("/franchise1/branch")
+                .header("If-None-Match", etag)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("Should reject a non numeric branch page size")
+    void shouldRejectNonNumericBranchPageSize() {
+        ServerRequest request = MockServerRequest.builder()
+                .pathVariable("franchiseId", "franchise1")
+                .queryParam("size", "ten")
+                .build();
+
+        StepVerifier.create(branchHandler.listBranches(request))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(listBranchesUseCase);
+    }
+}
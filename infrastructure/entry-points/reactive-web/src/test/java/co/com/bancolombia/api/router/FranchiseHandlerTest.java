@@ -1,12 +1,23 @@
 package co.com.bancolombia.api.router;
 
 import co.com.bancolombia.api.dto.FranchiseDTO;
+import co.com.bancolombia.api.dto.FranchiseDetailDTO;
+import co.com.bancolombia.api.dto.FranchiseImportResultDTO;
 import co.com.bancolombia.api.validations.FieldsValidator;
 import co.com.bancolombia.api.validations.MissingRequestBodyException;
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.BulkItemResult;
+import co.com.bancolombia.model.FieldSelection;
 import co.com.bancolombia.model.Franchise;
-import co.com.bancolombia.usecase.exceptions.DuplicateFranchiseException;
+import co.com.bancolombia.model.PageResult;
+import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.DuplicateFranchiseException;
 import co.com.bancolombia.usecase.in.franchise.CreateFranchiseUseCase;
+import co.com.bancolombia.usecase.in.franchise.ExportFranchisesUseCase;
+import co.com.bancolombia.usecase.in.franchise.ImportFranchisesUseCase;
+import co.com.bancolombia.usecase.in.franchise.ListFranchisesUseCase;
 import co.com.bancolombia.usecase.in.franchise.UpdateFranchiseNameUseCase;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,15 +25,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -35,6 +58,15 @@ class FranchiseHandlerTest {
     @Mock
     private UpdateFranchiseNameUseCase updateFranchiseNameUseCase;
 
+    @Mock
+    private ImportFranchisesUseCase importFranchisesUseCase;
+
+    @Mock
+    private ExportFranchisesUseCase exportFranchisesUseCase;
+
+    @Mock
+    private ListFranchisesUseCase listFranchisesUseCase;
+
     @Mock
     private FieldsValidator fieldsValidator;
 
@@ -47,6 +79,9 @@ class FranchiseHandlerTest {
         franchiseHandler = new FranchiseHandler(
                 createFranchiseUseCase, 
                 updateFranchiseNameUseCase, 
+                importFranchisesUseCase,
+                exportFranchisesUseCase,
+                listFranchisesUseCase,
                 fieldsValidator
         );
         
@@ -322,4 +357,222 @@ class FranchiseHandlerTest {
         verify(fieldsValidator).validate(emptyNameDTO);
         verify(createFranchiseUseCase).create(any(Franchise.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should import valid NDJSON records and report invalid ones in request order")
+    void shouldImportValidRecordsAndReportInvalidOnes() {
+        when(importFranchisesUseCase.importFranchises(anyList()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Franchise>>getArgument(0))
+                        .doOnNext(imported -> imported.setId("id-" + imported.getName()))
+                        .map(BulkItemResult::created));
+
+        String body = """
+                {"name":"Franchise A","branches":[{"name":"Branch 1","products":[{"name":"product 1","stock":5}]}]}
+                {"name":" ","branches":[]}
+                {"name":"Franchise B","branches":[{"name":"Branch 1","products":[{"name":"product 1","stock":-1}]}]}
+                {"name":"Franchise C"}
+                """;
+
+        List<FranchiseImportResultDTO> results = importClient(realValidatorHandler()).post()
+                .uri("/_import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(FranchiseImportResultDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(4, results.size());
+        assertEquals("CREATED", results.get(0).getStatus());
+        assertEquals("id-franchise a", results.get(0).getId());
+        assertEquals("FAILED", results.get(1).getStatus());
+        assertTrue(results.get(1).getError().contains("name"));
+        assertEquals("FAILED", results.get(2).getStatus());
+        assertTrue(results.get(2).getError().contains("branches[0].products[0].stock"));
+        assertEquals(3, results.get(3).getIndex());
+        assertEquals("CREATED", results.get(3).getStatus());
+        verify(importFranchisesUseCase).importFranchises(argThat(franchises -> franchises.size() == 2));
+    }
+
+    @Test
+    @DisplayName("Should import in chunks without buffering the whole upload")
+    void shouldImportInChunks() {
+        String body = IntStream.range(0, 501)
+                .mapToObj(i -> "{\"name\":\"franchise " + i + "\"}")
+                .collect(Collectors.joining("\n"));
+        when(importFranchisesUseCase.importFranchises(anyList()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Franchise>>getArgument(0))
+                        .map(BulkItemResult::created));
+
+        importClient(realValidatorHandler()).post()
+                .uri("/_import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(FranchiseImportResultDTO.class)
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNextCount(501)
+                .verifyComplete();
+
+        verify(importFranchisesUseCase, times(2)).importFranchises(anyList());
+    }
+
+    @Test
+    @DisplayName("Should stream exported franchises as NDJSON with branches and products")
+    void shouldExportFranchisesAsNdjson() {
+        Franchise exported = new Franchise("franchise1", "test franchise",
+                List.of(new Branch("branch1", "branch 1", List.of(new Product("product1", "product 1", 5)))));
+        when(exportFranchisesUseCase.exportFranchises("test", 100, FieldSelection.all()))
+                .thenReturn(Flux.just(exported, new Franchise("franchise2", "test franchise 2", null)));
+
+        List<FranchiseDetailDTO> results = WebTestClient.bindToRouterFunction(RouterFunctions.route(
+                        RequestPredicates.GET("/_export"), franchiseHandler::exportFranchises)).build()
+                .get()
+                .uri("/_export?namePrefix=test&batchSize=100")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(FranchiseDetailDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(2, results.size());
+        assertEquals("branch 1", results.get(0).getBranches().get(0).getName());
+        assertEquals(5, results.get(0).getBranches().get(0).getProducts().get(0).getStock());
+        assertTrue(results.get(1).getBranches().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should use the default batch size when exporting without parameters")
+    void shouldExportWithDefaultBatchSize() {
+        when(exportFranchisesUseCase.exportFranchises(null, 500, FieldSelection.all())).thenReturn(Flux.empty());
+
+        StepVerifier.create(franchiseHandler.exportFranchises(MockServerRequest.builder().build()))
+                .expectNextMatches(serverResponse -> serverResponse.statusCode() == HttpStatus.OK)
+                .verifyComplete();
+
+        verify(exportFranchisesUseCase).exportFranchises(null, 500, FieldSelection.all());
+    }
+
+    @Test
+    @DisplayName("Should reject a non numeric export batch size")
+    void shouldRejectNonNumericBatchSize() {
+        ServerRequest request = MockServerRequest.builder()
+                .queryParam("batchSize", "many")
+                .build();
+
+        StepVerifier.create(franchiseHandler.exportFranchises(request))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(exportFranchisesUseCase);
+    }
+
+    @Test
+    @DisplayName("Should list a page of franchises without branches by default")
+    void shouldListFranchisesWithoutBranches() {
+        when(listFranchisesUseCase.listFranchises(null, 20, FieldSelection.of(List.of("id", "name"))))
+                .thenReturn(Mono.just(PageResult.of(List.of(franchise), "franchise1")));
+
+        String body = listClient().get()
+                .uri("/")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertTrue(body.contains("\"nextCursor\":\"franchise1\""));
+        assertTrue(body.contains("\"name\":\"Test Franchise\""));
+        assertFalse(body.contains("branches"));
+    }
+
+    @Test
+    @DisplayName("Should list franchises with branches after the given cursor")
+    void shouldListFranchisesWithBranchesAfterCursor() {
+        Franchise withBranch = new Franchise("franchise2", "franchise 2",
+                List.of(new Branch("branch1", "branch 1", List.of())));
+        when(listFranchisesUseCase.listFranchises("franchise1", 50, FieldSelection.all()))
+                .thenReturn(Mono.just(PageResult.of(List.of(withBranch), null)));
+
+        String body = listClient().get()
+                .uri("/?cursor=franchise1&size=50&includeBranches=true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertTrue(body.contains("\"branches\":[{\"id\":\"branch1\""));
+        assertFalse(body.contains("nextCursor"));
+    }
+
+    @Test
+    @DisplayName("Should reject a non numeric page size")
+    void shouldRejectNonNumericPageSize() {
+        ServerRequest request = MockServerRequest.builder()
+                .queryParam("size", "all")
+                .build();
+
+        StepVerifier.create(franchiseHandler.listFranchises(request))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(listFranchisesUseCase);
+    }
+
+    @Test
+    @DisplayName("Should read and write only the requested fields")
+    void shouldListOnlyRequestedFields() {
+        FieldSelection fields = FieldSelection.of(List.of("name", "branches.products.name"));
+        Franchise withProducts = new Franchise("franchise2", "franchise 2",
+                List.of(new Branch("branch1", "branch 1", List.of(new Product("product1", "product 1", 5)))));
+        when(listFranchisesUseCase.listFranchises(null, 20, fields))
+                .thenReturn(Mono.just(PageResult.of(List.of(withProducts), null)));
+
+        String body = listClient().get()
+                .uri("/?fields=name,branches.products.name")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertEquals("{\"items\":[{\"name\":\"franchise 2\",\"branches\":[{\"products\":[{\"name\":\"product 1\"}]}]}]}", body);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown fields")
+    void shouldRejectUnknownFields() {
+        ServerRequest request = MockServerRequest.builder()
+                .queryParam("fields", "name,owner")
+                .build();
+
+        StepVerifier.create(franchiseHandler.listFranchises(request))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(listFranchisesUseCase);
+    }
+
+    private WebTestClient listClient() {
+        return WebTestClient.bindToRouterFunction(RouterFunctions.route(
+                RequestPredicates.GET("/"), franchiseHandler::listFranchises)).build();
+    }
+
+    private FranchiseHandler realValidatorHandler() {
+        return new FranchiseHandler(createFranchiseUseCase, updateFranchiseNameUseCase, importFranchisesUseCase,
+                exportFranchisesUseCase, listFranchisesUseCase, new FieldsValidator(Validation.buildDefaultValidatorFactory().getValidator()));
+    }
+
+    private WebTestClient importClient(FranchiseHandler handler) {
+        return WebTestClient.bindToRouterFunction(RouterFunctions.route(
+                RequestPredicates.POST("/_import"), handler::importFranchises)).build();
+    }
+}
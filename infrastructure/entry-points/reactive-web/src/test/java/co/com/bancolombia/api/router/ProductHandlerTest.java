@@ -1,16 +1,26 @@
 package co.com.bancolombia.api.router;
 
+import co.com.bancolombia.api.dto.BulkItemResultDTO;
+import co.com.bancolombia.api.dto.FranchiseIdsDTO;
+import co.com.bancolombia.api.dto.FranchiseMaxStockDTO;
 import co.com.bancolombia.api.dto.ProductDTO;
 import co.com.bancolombia.api.validations.FieldsValidator;
 import co.com.bancolombia.api.validations.MissingRequestBodyException;
+import co.com.bancolombia.model.Branch;
+import co.com.bancolombia.model.BulkItemResult;
 import co.com.bancolombia.model.Franchise;
+import co.com.bancolombia.model.PageResult;
 import co.com.bancolombia.model.Product;
+import co.com.bancolombia.model.gateway.StaleReads;
 import co.com.bancolombia.usecase.exceptions.BranchNotFoundException;
 import co.com.bancolombia.usecase.exceptions.DuplicateProductException;
 import co.com.bancolombia.usecase.exceptions.ProductNotFoundException;
 import co.com.bancolombia.usecase.in.product.AddProductToBranchUseCase;
+import co.com.bancolombia.usecase.in.product.BulkUpsertProductsUseCase;
 import co.com.bancolombia.usecase.in.product.DeleteProductFromBranchUseCase;
 import co.com.bancolombia.usecase.in.product.GetMaxStockByBranchInFranchiseUseCase;
+import co.com.bancolombia.usecase.in.product.GetTopStockProductsUseCase;
+import co.com.bancolombia.usecase.in.product.ListProductsUseCase;
 import co.com.bancolombia.usecase.in.product.UpdateProductUseCase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,15 +29,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -46,6 +68,15 @@ class ProductHandlerTest {
     @Mock
     private UpdateProductUseCase updateProductUseCase;
 
+    @Mock
+    private BulkUpsertProductsUseCase bulkUpsertProductsUseCase;
+
+    @Mock
+    private ListProductsUseCase listProductsUseCase;
+
+    @Mock
+    private GetTopStockProductsUseCase getTopStockProductsUseCase;
+
     @Mock
     private FieldsValidator fieldsValidator;
 
@@ -61,6 +92,9 @@ class ProductHandlerTest {
                 getMaxStockByBranchInFranchiseUseCase,
                 deleteProductFromBranchUseCase,
                 updateProductUseCase,
+                bulkUpsertProductsUseCase,
+                listProductsUseCase,
+                getTopStockProductsUseCase,
                 fieldsValidator
         );
         
@@ -175,6 +209,45 @@ class ProductHandlerTest {
         verify(getMaxStockByBranchInFranchiseUseCase).getMaxStockByBranchInFranchise("franchise1");
     }
 
+    @Test
+    @DisplayName("Should tag the max stock view with the franchise version and answer 304 when it is unchanged")
+    void shouldAnswerNotModifiedForUnchangedMaxStock() {
+        Franchise versioned = new Franchise("franchise1", "Test Franchise", new ArrayList<>(), 7L);
+        when(getMaxStockByBranchInFranchiseUseCase.getMaxStockByBranchInFranchise("franchise1"))
+                .thenReturn(Mono.just(versioned));
+        WebTestClient client = WebTestClient.bindToRouterFunction(RouterFunctions.route(
+                RequestPredicates.GET("/{franchiseId}"), productHandler::getMaxStock)).build();
+
+        client.get().uri("/franchise1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"franchise1-7\"")
+                .expectHeader().valueEquals("Cache-Control", "no-cache, private");
+        client.get().uri("/franchise1")
+                .header("If-None-Match", "\"franchise1-6\", W/\"franchise1-7\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", "\"franchise1-7\"")
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should flag a max stock view served from a last known good copy as stale")
+    void shouldFlagStaleMaxStock() {
+        when(getMaxStockByBranchInFranchiseUseCase.getMaxStockByBranchInFranchise("franchise1"))
+                .thenReturn(Mono.deferContextual(context -> {
+                    context.<StaleReads>get(StaleReads.class).markStale();
+                    return Mono.just(franchise);
+                }));
+
+        WebTestClient.bindToRouterFunction(RouterFunctions.route(
+                        RequestPredicates.GET("/{franchiseId}"), productHandler::getMaxStock)).build()
+                .get().uri("/franchise1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("Warning", "110 - \"Response is Stale\"");
+    }
+
     @Test
     @DisplayName("Should handle use case error in get max stock")
     void shouldHandleUseCaseErrorInGetMaxStock() {
@@ -500,4 +573,201 @@ class ProductHandlerTest {
         verify(fieldsValidator).validate(zeroStockDTO);
         verify(addProductToBranchUseCase).addProductToBranch(eq("franchise1"), eq("branch1"), any(Product.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should bulk upsert a JSON array and answer one result per item")
+    void shouldBulkUpsertJsonArray() {
+        when(bulkUpsertProductsUseCase.upsertProducts(eq("franchise1"), eq("branch1"), anyList()))
+                .thenReturn(Flux.just(
+                        BulkItemResult.created(new Product("product1", "product 1", 10)),
+                        BulkItemResult.failed(new Product(null, "", 5), "Product name is required")));
+
+        bulkClient().post()
+                .uri("/franchise1/branch/branch1/product/_bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"name\":\"product 1\",\"stock\":10},{\"name\":\"\",\"stock\":5}]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$[0].index").isEqualTo(0)
+                .jsonPath("$[0].status").isEqualTo("CREATED")
+                .jsonPath("$[0].product.productId").isEqualTo("product1")
+                .jsonPath("$[0].error").doesNotExist()
+                .jsonPath("$[1].index").isEqualTo(1)
+                .jsonPath("$[1].status").isEqualTo("FAILED")
+                .jsonPath("$[1].error").isEqualTo("Product name is required");
+    }
+
+    @Test
+    @DisplayName("Should bulk upsert an NDJSON stream in chunks keeping indexes across chunks")
+    void shouldBulkUpsertNdJsonInChunks() {
+        String body = IntStream.range(0, 501)
+                .mapToObj(i -> "{\"name\":\"product " + i + "\",\"stock\":1}")
+                .collect(Collectors.joining("\n"));
+        when(bulkUpsertProductsUseCase.upsertProducts(eq("franchise1"), eq("branch1"), anyList()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Product>>getArgument(2))
+                        .map(BulkItemResult::created));
+
+        List<BulkItemResultDTO> results = bulkClient().post()
+                .uri("/franchise1/branch/branch1/product/_bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(BulkItemResultDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(501, results.size());
+        assertEquals(500, results.get(500).getIndex());
+        assertEquals("product 500", results.get(500).getProduct().getName());
+        verify(bulkUpsertProductsUseCase, times(2)).upsertProducts(eq("franchise1"), eq("branch1"), anyList());
+    }
+
+    @Test
+    @DisplayName("Should list a page of products of a branch")
+    void shouldListProducts() {
+        when(listProductsUseCase.listProducts("franchise1", "branch1", null, 20))
+                .thenReturn(Mono.just(PageResult.of(List.of(product), null)));
+
+        String body = WebTestClient.bindToRouterFunction(RouterFunctions.route(
+                        RequestPredicates.GET("/{franchiseId}/branch/{branchId}/product"), productHandler::listProducts))
+                .build()
+                .get()
+                .uri("/franchise1/branch/branch1/product")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertTrue(body.contains("\"name\":\"Test Product\""));
+        assertFalse(body.contains("nextCursor"));
+    }
+
+    @Test
+    @DisplayName("Should propagate a missing branch when listing products")
+    void shouldPropagateBranchNotFoundWhenListingProducts() {
+        ServerRequest request = MockServerRequest.builder()
+                .pathVariable("franchiseId", "franchise1")
+                .pathVariable("branchId", "missing")
+                .build();
+        when(listProductsUseCase.listProducts("franchise1", "missing", null, 20))
+                .thenReturn(Mono.error(new BranchNotFoundException("missing")));
+
+        StepVerifier.create(productHandler.listProducts(request))
+                .expectError(BranchNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should answer the top stock products of a branch, five by default")
+    void shouldGetTopStockProducts() {
+        when(getTopStockProductsUseCase.getTopStockProducts("franchise1", "branch1", 5))
+                .thenReturn(Mono.just(List.of(product)));
+
+        String body = WebTestClient.bindToRouterFunction(RouterFunctions.route(
+                        RequestPredicates.GET("/{franchiseId}/branch/{branchId}/top"), productHandler::getTopStockProducts))
+                .build()
+                .get()
+                .uri("/franchise1/branch/branch1/top")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertTrue(body.contains("\"name\":\"Test Product\""));
+    }
+
+    @Test
+    @DisplayName("Should flag top stock products served from a last known good copy as stale")
+    void shouldFlagStaleTopStockProducts() {
+        when(getTopStockProductsUseCase.getTopStockProducts("franchise1", "branch1", 5))
+                .thenReturn(Mono.deferContextual(context -> {
+                    context.<StaleReads>get(StaleReads.class).markStale();
+                    return Mono.just(List.of(product));
+                }));
+
+        WebTestClient.bindToRouterFunction(RouterFunctions.route(
+                        RequestPredicates.GET("/{franchiseId}/branch/{branchId}/top"), productHandler::getTopStockProducts))
+                .build()
+                .get()
+                .uri("/franchise1/branch/branch1/top")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("Warning", "110 - \"Response is Stale\"");
+    }
+
+    @Test
+    @DisplayName("Should reject a k that is not a number")
+    void shouldRejectNonNumericTopK() {
+        ServerRequest request = MockServerRequest.builder()
+                .pathVariable("franchiseId", "franchise1")
+                .pathVariable("branchId", "branch1")
+                .queryParam("k", "five")
+                .build();
+
+        StepVerifier.create(productHandler.getTopStockProducts(request))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verifyNoInteractions(getTopStockProductsUseCase);
+    }
+
+    @Test
+    @DisplayName("Should stream max stock products of several franchises as NDJSON")
+    void shouldStreamMaxStockBatchAsNdjson() {
+        Franchise other = new Franchise("franchise2", "franchise 2",
+                List.of(new Branch("branch1", "branch 1", List.of(product))));
+        when(fieldsValidator.validate(any(FranchiseIdsDTO.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(getMaxStockByBranchInFranchiseUseCase.getMaxStockByBranchInFranchises(List.of("franchise1", "franchise2")))
+                .thenReturn(Flux.just(franchise, other));
+
+        List<FranchiseMaxStockDTO> results = batchClient().post()
+                .uri("/_batch")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(new FranchiseIdsDTO(List.of("franchise1", "franchise2")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(FranchiseMaxStockDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).getBranches().isEmpty());
+        assertEquals("Test Product", results.get(1).getBranches().getFirst().getProduct().getName());
+    }
+
+    @Test
+    @DisplayName("Should answer a JSON array of max stock products by default")
+    void shouldAnswerMaxStockBatchAsJsonArray() {
+        when(fieldsValidator.validate(any(FranchiseIdsDTO.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(getMaxStockByBranchInFranchiseUseCase.getMaxStockByBranchInFranchises(List.of("franchise1")))
+                .thenReturn(Flux.just(franchise));
+
+        batchClient().post()
+                .uri("/_batch")
+                .bodyValue(new FranchiseIdsDTO(List.of("franchise1")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$[0].franchiseId").isEqualTo("franchise1");
+    }
+
+    private WebTestClient batchClient() {
+        return WebTestClient.bindToRouterFunction(RouterFunctions.route(
+                RequestPredicates.POST("/_batch"), productHandler::getMaxStockBatch)).build();
+    }
+
+    private WebTestClient bulkClient() {
+        return WebTestClient.bindToRouterFunction(RouterFunctions.route(
+                RequestPredicates.POST("/{franchiseId}/branch/{branchId}/product/_bulk"),
+                productHandler::bulkUpsertProducts)).build();
+    }
+}
@@ -0,0 +1,58 @@
+package co.com.bancolombia.api.validations;
+
+import co.com.bancolombia.model.gateway.DuplicateFranchiseException;
+import co.com.bancolombia.model.gateway.FranchiseStoreUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GlobalErrorHandlerTest {
+
+    private final GlobalErrorHandler handler = new GlobalErrorHandler(new ObjectMapper());
+
+    private HttpStatus statusFor(Throwable error) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/franchises/franchise1"));
+
+        StepVerifier.create(handler.handle(exchange, error)).verifyComplete();
+
+        return HttpStatus.valueOf(exchange.getResponse().getStatusCode().value());
+    }
+
+    @Test
+    @DisplayName("Should answer 503 when the circuit breaker rejects the call")
+    void shouldMapOpenCircuitToServiceUnavailable() {
+        CallNotPermittedException error = CallNotPermittedException
+                .createCallNotPermittedException(CircuitBreaker.ofDefaults("franchise-repository"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, statusFor(error));
+    }
+
+    @Test
+    @DisplayName("Should answer 503 when the database read times out")
+    void shouldMapTimeoutToServiceUnavailable() {
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, statusFor(new TimeoutException("Did not observe any item")));
+    }
+
+    @Test
+    @DisplayName("Should answer 503 when the database cannot be reached")
+    void shouldMapUnavailableStoreToServiceUnavailable() {
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                statusFor(new FranchiseStoreUnavailableException(new IllegalStateException("connection refused"))));
+    }
+
+    @Test
+    @DisplayName("Should keep answering 409 for duplicate names")
+    void shouldMapDuplicateToConflict() {
+        assertEquals(HttpStatus.CONFLICT, statusFor(new DuplicateFranchiseException("franchise 1")));
+    }
+}